@@ -0,0 +1,49 @@
+package org.example.market.jmh;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.market.domain.Member;
+import org.example.market.jwt.JwtUtil;
+import org.example.market.jwt.MemberPrincipal;
+import org.example.market.jwt.VerifiedTokenCache;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청마다 거치는 JWT 발급/파싱/검증 비용. verify는 검증 결과 캐시를 거치는 현재 필터 경로다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtBenchmark {
+    private JwtUtil jwtUtil;
+    private MemberPrincipal principal;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(new VerifiedTokenCache(10_000, new SimpleMeterRegistry()));
+        principal = new MemberPrincipal(1L, "benchmark-user", "password", Member.Role.BUYER);
+        token = jwtUtil.generateToken(principal);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(principal);
+    }
+
+    @Benchmark
+    public String extractUsername() {
+        return jwtUtil.extractUsername(token);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, principal);
+    }
+
+    @Benchmark
+    public Object verifyCached() {
+        return jwtUtil.verify(token);
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.market.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.market.controller.dto.ProductDetailResponse;
+import org.example.market.controller.dto.ProductResponse;
+import org.example.market.domain.Member;
+import org.example.market.domain.Product;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 1,000개 목록의 JSON 직렬화 비용. ObjectMapper는 Spring MVC와 같은 빌더로 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductListSerializationBenchmark {
+    private static final int SIZE = 1_000;
+
+    private ObjectMapper objectMapper;
+    private List<ProductResponse> products;
+    private List<ProductDetailResponse> details;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        Member seller = new Member(1L, "seller", "password", Member.Role.SELLER);
+        products = new ArrayList<>(SIZE);
+        details = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            products.add(new ProductResponse((long) i, "Product " + i, 1_000L + i, Product.ProductStatus.FOR_SALE, 100));
+            details.add(new ProductDetailResponse(new Product("Product " + i, 1_000L + i, Product.ProductStatus.FOR_SALE, seller, 100)));
+        }
+    }
+
+    @Benchmark
+    public byte[] productList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(products);
+    }
+
+    @Benchmark
+    public byte[] productDetailList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(details);
+    }
+}
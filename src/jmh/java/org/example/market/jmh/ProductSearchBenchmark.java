@@ -0,0 +1,45 @@
+package org.example.market.jmh;
+
+import org.example.market.controller.dto.ProductResponse;
+import org.example.market.domain.Product;
+import org.example.market.service.ProductSearchIndex;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Slice;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상품 100만 개 색인에서 검색 한 번(첫 페이지 20개)에 걸리는 시간.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductSearchBenchmark {
+    private static final String[] BRANDS = {"삼성", "엘지", "애플", "소니", "샤오미", "Anker", "Logitech", "Bose"};
+    private static final String[] ITEMS = {"무선이어폰", "블루투스 스피커", "노트북 거치대", "기계식 키보드", "게이밍 마우스",
+            "USB-C 충전기", "보조배터리", "스마트워치 스트랩", "헤드폰", "모니터 암"};
+
+    @Param({"1000000"})
+    private int catalogSize;
+
+    @Param({"이어", "무선이어폰", "키보", "logi", "삼성", "삼성 충전", "블루투스 스피커 12"})
+    private String query;
+
+    private ProductSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        index = new ProductSearchIndex(null, 2_000);
+        Random random = new Random(42);
+        for (long id = 1; id <= catalogSize; id++) {
+            String name = BRANDS[random.nextInt(BRANDS.length)] + " " + ITEMS[random.nextInt(ITEMS.length)] + " " + random.nextInt(1000);
+            index.put(new ProductResponse(id, name, 1_000L, Product.ProductStatus.FOR_SALE, 10));
+        }
+    }
+
+    @Benchmark
+    public Slice<ProductResponse> search() {
+        return index.search(query, null, 0, 20);
+    }
+}
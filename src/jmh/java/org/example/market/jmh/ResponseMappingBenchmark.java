@@ -0,0 +1,41 @@
+package org.example.market.jmh;
+
+import org.example.market.controller.dto.OrderResponse;
+import org.example.market.controller.dto.ProductDetailResponse;
+import org.example.market.domain.Member;
+import org.example.market.domain.Orders;
+import org.example.market.domain.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔티티/조회 결과를 응답 DTO로 옮기는 비용.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ResponseMappingBenchmark {
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        Member seller = new Member(1L, "seller", "password", Member.Role.SELLER);
+        product = new Product("Benchmark Product", 10_000L, Product.ProductStatus.FOR_SALE, seller, 100);
+    }
+
+    @Benchmark
+    public ProductDetailResponse productDetailResponse() {
+        return new ProductDetailResponse(product);
+    }
+
+    @Benchmark
+    public OrderResponse buyerOrderResponse() {
+        return new OrderResponse(1L, "Benchmark Product", 10_000L, Orders.OrderStatus.RESERVED, 1L);
+    }
+
+    @Benchmark
+    public OrderResponse productOrderResponse() {
+        return new OrderResponse(1L, 10_000L, 1L);
+    }
+}
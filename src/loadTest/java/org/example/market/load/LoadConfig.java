@@ -0,0 +1,41 @@
+package org.example.market.load;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 부하 설정. 모두 시스템 프로퍼티(load.*)로 바꿀 수 있다.
+ */
+record LoadConfig(int clients, Duration warmup, Duration duration, int sellers, int buyers,
+                  int productsPerSeller, int stock, Map<Operation, Integer> mix, String report) {
+
+    static LoadConfig fromSystemProperties() {
+        return new LoadConfig(
+                Integer.getInteger("load.clients", 100),
+                Duration.parse(System.getProperty("load.warmup", "PT10S")),
+                Duration.parse(System.getProperty("load.duration", "PT30S")),
+                Integer.getInteger("load.sellers", 10),
+                Integer.getInteger("load.buyers", 200),
+                Integer.getInteger("load.products-per-seller", 20),
+                Integer.getInteger("load.stock", 1_000_000),
+                parseMix(System.getProperty("load.mix", "browse:50,detail:25,reserve:15,myOrders:5,approve:5")),
+                System.getProperty("load.report"));
+    }
+
+    // "browse:50,detail:25" 형식. 비율은 합이 100이 아니어도 가중치로 쓴다
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] pair = entry.trim().split(":");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                mix.put(Operation.fromName(pair[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("load.mix에 실행할 작업이 없습니다: " + value);
+        }
+        return mix;
+    }
+}
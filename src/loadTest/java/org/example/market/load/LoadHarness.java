@@ -0,0 +1,265 @@
+package org.example.market.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.example.market.MarketApplication;
+import org.example.market.domain.Orders;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 마켓 트래픽 재현 부하 생성기. ./gradlew loadTest 로 실행한다.
+ * <p>
+ * 앱을 인메모리 H2로 띄운 뒤 /auth/register, /auth/login으로 판매자와 구매자를 만들고 판매자마다 상품을 등록한다.
+ * 이후 load.clients개의 클라이언트가 load.mix 비율로 목록/상세 조회, 예약, 구매 내역 조회, 판매 승인을 반복한다.
+ * 예약 응답에는 주문 id가 없으므로 구매 내역 조회에서 본 예약 주문을 판매자별 승인 대기 큐에 넣고, 승인은 그 큐에서 꺼낸다.
+ * 워밍업 구간은 집계하지 않으며 끝나면 엔드포인트별 처리량, p50/p95/p99, 거절(4xx)/오류(5xx, 연결 실패) 비율을 출력한다.
+ * 오류 비율이 load.max-error-rate(기본 1%)를 넘으면 0이 아닌 코드로 종료해 빌드에서 회귀를 잡을 수 있다.
+ */
+public final class LoadHarness {
+    private static final String PASSWORD = "load-password";
+    private static final long PRICE = 1_000L;
+    private static final String RESERVED = Orders.OrderStatus.RESERVED.getDescription();
+
+    private final LoadConfig config;
+    private final MarketClient client;
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final List<String> sellerTokens = new ArrayList<>();
+    private final List<String> buyerTokens = new ArrayList<>();
+    private final List<Long> productIds = new ArrayList<>();
+    private final Map<String, Integer> sellerByProductName = new HashMap<>();
+    private final List<Queue<Long>> pendingApprovals = new ArrayList<>();
+    private final Set<Long> seenOrderIds = ConcurrentHashMap.newKeySet();
+    private volatile boolean recording;
+
+    private LoadHarness(LoadConfig config, int port) {
+        this.config = config;
+        this.client = new MarketClient(port);
+        stats.put(Operation.BROWSE, new EndpointStats("GET /product/all"));
+        stats.put(Operation.DETAIL, new EndpointStats("GET /product/{id}"));
+        stats.put(Operation.RESERVE, new EndpointStats("POST /order/{id}/reserve"));
+        stats.put(Operation.MY_ORDERS, new EndpointStats("GET /order/buyer-list"));
+        stats.put(Operation.APPROVE, new EndpointStats("POST /order/{id}/approve"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.fromSystemProperties();
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(MarketApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:load;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driver-class-name=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "market.rate-limit.enabled=false",  // 한 주소에서 모든 클라이언트를 흉내 내므로 제한을 끈다
+                        "logging.level.root=warn",
+                        "logging.level.org.hibernate.SQL=warn",
+                        "logging.level.org.hibernate.type=warn",
+                        "logging.level.org.springframework.security=warn")
+                .run(args);
+        int exitCode;
+        try {
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            LoadHarness harness = new LoadHarness(config, port);
+            harness.prepare();
+            harness.run();
+            exitCode = harness.report();
+        } finally {
+            context.close();
+        }
+        System.exit(exitCode);
+    }
+
+    private void prepare() throws Exception {
+        ExecutorService setup = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<String>> sellers = new ArrayList<>();
+            for (int i = 0; i < config.sellers(); i++) {
+                String username = "load-seller-" + i;
+                sellers.add(setup.submit(() -> client.registerAndLogin(username, PASSWORD, "SELLER")));
+            }
+            List<Future<String>> buyers = new ArrayList<>();
+            for (int i = 0; i < config.buyers(); i++) {
+                String username = "load-buyer-" + i;
+                buyers.add(setup.submit(() -> client.registerAndLogin(username, PASSWORD, "BUYER")));
+            }
+            for (Future<String> seller : sellers) {
+                sellerTokens.add(seller.get());
+                pendingApprovals.add(new ConcurrentLinkedQueue<>());
+            }
+            for (Future<String> buyer : buyers) {
+                buyerTokens.add(buyer.get());
+            }
+
+            List<Future<Long>> products = new ArrayList<>();
+            for (int s = 0; s < sellerTokens.size(); s++) {
+                for (int p = 0; p < config.productsPerSeller(); p++) {
+                    String name = "load-product-" + s + "-" + p;
+                    String token = sellerTokens.get(s);
+                    sellerByProductName.put(name, s);
+                    products.add(setup.submit(() -> client.addProduct(token, name, PRICE, config.stock())));
+                }
+            }
+            for (Future<Long> product : products) {
+                productIds.add(product.get());
+            }
+        } finally {
+            setup.shutdown();
+        }
+        System.out.printf("준비 완료: 판매자 %d, 구매자 %d, 상품 %d%n", sellerTokens.size(), buyerTokens.size(), productIds.size());
+    }
+
+    private void run() throws InterruptedException {
+        long warmupEnd = System.nanoTime() + config.warmup().toNanos();
+        long deadline = warmupEnd + config.duration().toNanos();
+        ExecutorService clients = Executors.newFixedThreadPool(config.clients());
+        for (int i = 0; i < config.clients(); i++) {
+            clients.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    if (!recording && System.nanoTime() >= warmupEnd) {
+                        recording = true;
+                    }
+                    execute(pick());
+                }
+            });
+        }
+        clients.shutdown();
+        if (!clients.awaitTermination(config.warmup().plus(config.duration()).toSeconds() + 60, TimeUnit.SECONDS)) {
+            clients.shutdownNow();
+        }
+    }
+
+    private Operation pick() {
+        int total = config.mix().values().stream().mapToInt(Integer::intValue).sum();
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : config.mix().entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    private void execute(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long productId = productIds.get(random.nextInt(productIds.size()));
+        String buyerToken = buyerTokens.get(random.nextInt(buyerTokens.size()));
+
+        switch (operation) {
+            case BROWSE -> {
+                // 첫 페이지와 중간 페이지를 섞어서 조회한다
+                String cursor = random.nextBoolean() ? "" : "&cursor=" + productId;
+                call(operation, client.get("/product/all?size=20" + cursor, null));
+            }
+            case DETAIL -> call(operation, client.get("/product/" + productId, null));
+            case RESERVE -> call(operation, client.post("/order/" + productId + "/reserve", buyerToken,
+                    Map.of("price", PRICE, "quantity", 1)));
+            case MY_ORDERS -> {
+                String body = call(operation, client.get("/order/buyer-list", buyerToken));
+                if (body != null) {
+                    queuePendingApprovals(body);
+                }
+            }
+            case APPROVE -> {
+                int seller = random.nextInt(sellerTokens.size());
+                Long orderId = pendingApprovals.get(seller).poll();
+                if (orderId == null) {
+                    execute(Operation.MY_ORDERS);  // 승인할 주문이 없으면 구매 내역 조회로 대기 주문을 채운다
+                    return;
+                }
+                call(operation, client.post("/order/" + orderId + "/approve", sellerTokens.get(seller), null));
+            }
+        }
+    }
+
+    // 응답 본문을 반환한다. 실패(4xx, 5xx, 연결 오류)면 null
+    private String call(Operation operation, HttpRequest request) {
+        EndpointStats endpoint = stats.get(operation);
+        long startedAt = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request);
+            if (recording) {
+                endpoint.record(System.nanoTime() - startedAt, response.statusCode());
+            }
+            return response.statusCode() == 200 ? response.body() : null;
+        } catch (IOException e) {
+            if (recording) {
+                endpoint.recordFailure(System.nanoTime() - startedAt);
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private void queuePendingApprovals(String body) {
+        try {
+            for (JsonNode order : client.readTree(body)) {
+                long orderId = order.get("id").asLong();
+                Integer seller = sellerByProductName.get(order.path("productName").asText());
+                if (seller != null && RESERVED.equals(order.path("status").asText()) && seenOrderIds.add(orderId)) {
+                    pendingApprovals.get(seller).offer(orderId);
+                }
+            }
+        } catch (IOException ignored) {
+            // 응답 형식이 바뀐 경우 승인 트래픽만 빠진다
+        }
+    }
+
+    private int report() throws IOException {
+        double seconds = config.duration().toMillis() / 1000.0;
+        long requests = 0;
+        long errors = 0;
+
+        System.out.printf("%n동시 클라이언트 %d, 측정 %.0fs (워밍업 %ds 제외)%n", config.clients(), seconds, config.warmup().toSeconds());
+        System.out.printf("%-28s %9s %9s %9s %9s %9s %9s %7s %7s%n",
+                "endpoint", "requests", "req/s", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)", "4xx%", "err%");
+        List<String> csv = new ArrayList<>();
+        csv.add("endpoint,requests,throughput,p50_ms,p95_ms,p99_ms,max_ms,rejected,errors");
+        for (EndpointStats endpoint : stats.values()) {
+            long count = endpoint.count();
+            if (count == 0) {
+                continue;
+            }
+            requests += count;
+            errors += endpoint.errors();
+            System.out.printf("%-28s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %6.2f%% %6.2f%%%n",
+                    endpoint.endpoint(), count, count / seconds,
+                    endpoint.percentileMillis(50), endpoint.percentileMillis(95), endpoint.percentileMillis(99), endpoint.maxMillis(),
+                    100.0 * endpoint.rejected() / count, 100.0 * endpoint.errors() / count);
+            csv.add(String.format(Locale.ROOT, "%s,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%d,%d",
+                    endpoint.endpoint(), count, count / seconds,
+                    endpoint.percentileMillis(50), endpoint.percentileMillis(95), endpoint.percentileMillis(99), endpoint.maxMillis(),
+                    endpoint.rejected(), endpoint.errors()));
+        }
+        System.out.printf("전체 %d건, %.1f req/s%n", requests, requests / seconds);
+
+        if (config.report() != null) {
+            Path path = Path.of(config.report());
+            Files.createDirectories(path.getParent());
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
+                csv.forEach(writer::println);
+            }
+            System.out.println("결과 저장: " + path);
+        }
+
+        double maxErrorRate = Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+        double errorRate = requests == 0 ? 1.0 : (double) errors / requests;
+        if (errorRate > maxErrorRate) {
+            System.out.printf("오류 비율 %.2f%%가 허용치 %.2f%%를 넘었습니다.%n", errorRate * 100, maxErrorRate * 100);
+            return 1;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,78 @@
+package org.example.market.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * 마켓 API 호출. 준비 단계(회원가입, 로그인, 상품 등록)와 측정 대상 요청을 모두 실제 HTTP로 보낸다.
+ */
+final class MarketClient {
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final String baseUrl;
+
+    MarketClient(int port) {
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    String registerAndLogin(String username, String password, String role) throws IOException, InterruptedException {
+        expectOk(send(post("/auth/register", null, Map.of("username", username, "password", password, "role", role))));
+        HttpResponse<String> login = expectOk(send(post("/auth/login", null, Map.of("username", username, "password", password))));
+        return mapper.readTree(login.body()).get("jwt").asText();
+    }
+
+    long addProduct(String token, String name, long price, int stock) throws IOException, InterruptedException {
+        HttpResponse<String> response = expectOk(send(post("/product/add", token, Map.of("name", name, "price", price, "stock", stock))));
+        return mapper.readTree(response.body()).get("id").asLong();
+    }
+
+    HttpRequest get(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    HttpRequest post(String path, String token, Object body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(json(body)));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    JsonNode readTree(String body) throws IOException {
+        return mapper.readTree(body);
+    }
+
+    private String json(Object body) {
+        try {
+            return mapper.writeValueAsString(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    private static HttpResponse<String> expectOk(HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(response.request().uri() + " 요청 실패: " + response.statusCode() + " " + response.body());
+        }
+        return response;
+    }
+}
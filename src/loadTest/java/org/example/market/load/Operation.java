@@ -0,0 +1,24 @@
+package org.example.market.load;
+
+enum Operation {
+    BROWSE("browse"),        // GET /product/all
+    DETAIL("detail"),        // GET /product/{id}
+    RESERVE("reserve"),      // POST /order/{id}/reserve
+    MY_ORDERS("myOrders"),   // GET /order/buyer-list, 승인 대기 주문을 판매자 큐에 넣는다
+    APPROVE("approve");      // POST /order/{id}/approve
+
+    private final String name;
+
+    Operation(String name) {
+        this.name = name;
+    }
+
+    static Operation fromName(String name) {
+        for (Operation operation : values()) {
+            if (operation.name.equalsIgnoreCase(name)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("알 수 없는 작업입니다: " + name);
+    }
+}
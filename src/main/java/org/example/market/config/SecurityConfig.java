@@ -1,6 +1,9 @@
 package org.example.market.config;
 
+import jakarta.servlet.DispatcherType;
 import org.example.market.jwt.JwtRequestFilter;
+import org.example.market.ratelimit.RateLimitFilter;
+import org.example.market.ratelimit.RateLimiter;
 import org.example.market.service.MemberService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -27,11 +30,16 @@ public class SecurityConfig {
     @Autowired
     private JwtRequestFilter jwtRequestFilter;
 
+    @Autowired
+    private RateLimiter rateLimiter;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // StreamingResponseBody, SseEmitter 완료 시의 ASYNC 디스패치. 원 요청에서 이미 인가를 거쳤다
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers(
                                 "/",
                                 "/index.html",
@@ -39,11 +47,15 @@ public class SecurityConfig {
                                 "/member/register.html",
                                 "/auth/**",
                                 "/product/all",
+                                "/product/stream",
                                 "/product/{id}",
                                 "/test",
                                 "/list.html",
                                 "/sellerpage.html",
-                                "/mypage.html"
+                                "/mypage.html",
+                                "/js/**",
+                                "/actuator/health",
+                                "/actuator/prometheus"  // 스크레이프용. 외부에서는 로드밸런서에서 막는다
                         ).permitAll()
                         .anyRequest().authenticated()
                 )
@@ -52,6 +64,7 @@ public class SecurityConfig {
                 );
 
         http.addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
+        http.addFilterAfter(new RateLimitFilter(rateLimiter), JwtRequestFilter.class);
         return http.build();
     }
 
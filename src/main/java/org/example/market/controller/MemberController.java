@@ -5,21 +5,24 @@ import lombok.extern.slf4j.Slf4j;
 import org.example.market.controller.dto.AuthenticationRequest;
 import org.example.market.controller.dto.AuthenticationResponse;
 import org.example.market.controller.dto.RegisterRequest;
-import org.example.market.domain.Member;
+import org.example.market.jwt.CurrentMember;
 import org.example.market.jwt.JwtUtil;
+import org.example.market.jwt.MemberPrincipal;
 import org.example.market.service.MemberService;
+import org.example.market.service.RefreshTokenService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseCookie;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Collection;
+import java.time.Duration;
 import java.util.Collections;
 
 @Slf4j
@@ -31,35 +34,72 @@ public class MemberController {
     private final MemberService memberService;
     private final JwtUtil jwtUtil;
     private final PasswordEncoder passwordEncoder;
+    private final RefreshTokenService refreshTokenService;
+
+    private static final String REFRESH_COOKIE = "refresh_token";
+
+    @Value("${market.jwt.refresh-cookie-secure:true}")
+    private boolean secureCookie;
 
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@RequestBody RegisterRequest registerRequest) {
         registerRequest.setPassword(passwordEncoder.encode(registerRequest.getPassword()));
-        return ResponseEntity.ok(memberService.save(registerRequest));
+        try {
+            return ResponseEntity.ok(memberService.save(registerRequest));
+        } catch (IllegalStateException | DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("이미 사용 중인 아이디입니다.");
+        }
     }
 
     @PostMapping("/login")
     public ResponseEntity<?> createAuthenticationToken(@RequestBody AuthenticationRequest authenticationRequest) throws Exception {
-        authenticationManager.authenticate(
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(authenticationRequest.getUsername(), authenticationRequest.getPassword())
         );
 
-        final UserDetails userDetails = memberService.loadUserByUsername(authenticationRequest.getUsername());
-        final String jwt = jwtUtil.generateToken(userDetails);
+        // 인증 과정에서 조회한 회원 정보를 그대로 사용한다
+        final MemberPrincipal principal = (MemberPrincipal) authentication.getPrincipal();
+        final String jwt = jwtUtil.generateToken(principal);
 
-        return ResponseEntity.ok(new AuthenticationResponse(jwt));
+        // 액세스 토큰이 만료되면 비밀번호 대신 이 쿠키로 /auth/refresh에서 재발급받는다
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, refreshCookie(refreshTokenService.issue(principal), refreshTokenService.getRefreshTokenTtl()).toString())
+                .body(new AuthenticationResponse(jwt));
     }
 
-    // ROLE 확인
-    @GetMapping("/me")
-    public ResponseEntity<?> getCurrentUser(@AuthenticationPrincipal UserDetails userDetails) {
-        if (userDetails == null) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("로그인이 필요합니다.");
+    // 리프레시 토큰을 교체하고 새 액세스 토큰을 발급한다. BCrypt 검증 없이 토큰 해시와 회원 PK 조회만 한다
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshAuthenticationToken(@CookieValue(name = REFRESH_COOKIE, required = false) String refreshToken) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(refreshToken);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, refreshCookie(rotation.refreshToken(), refreshTokenService.getRefreshTokenTtl()).toString())
+                .body(new AuthenticationResponse(jwtUtil.generateToken(rotation.principal())));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@CookieValue(name = REFRESH_COOKIE, required = false) String refreshToken) {
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
         }
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, refreshCookie("", Duration.ZERO).toString())
+                .build();
+    }
 
-        Member member = memberService.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new UsernameNotFoundException("존재하지 않는 사용자입니다."));
+    // 스크립트에서 읽을 수 없고 /auth 아래 요청에만 전송되는 쿠키
+    private ResponseCookie refreshCookie(String value, Duration maxAge) {
+        return ResponseCookie.from(REFRESH_COOKIE, value)
+                .httpOnly(true)
+                .secure(secureCookie)
+                .sameSite("Strict")
+                .path("/auth")
+                .maxAge(maxAge)
+                .build();
+    }
 
-        return ResponseEntity.ok(Collections.singletonMap("role", member.getRole()));
+    // ROLE 확인
+    @GetMapping("/me")
+    public ResponseEntity<?> getCurrentUser(@CurrentMember MemberPrincipal principal) {
+        return ResponseEntity.ok(Collections.singletonMap("role", principal.getRole()));
     }
 }
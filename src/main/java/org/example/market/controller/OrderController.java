@@ -4,22 +4,31 @@ package org.example.market.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.example.market.controller.dto.BuyProductRequest;
+import org.example.market.controller.dto.CheckoutRequest;
+import org.example.market.controller.dto.FileFormat;
 import org.example.market.controller.dto.OrderCompleteResponse;
 import org.example.market.domain.Member;
 import org.example.market.domain.Orders;
 import org.example.market.domain.Product;
+import org.example.market.exception.BadRequestException;
+import org.example.market.exception.CheckoutFailedException;
 import org.example.market.exception.InsufficientStockException;
 import org.example.market.exception.ProductNotFoundException;
 import org.example.market.exception.UnauthorizedException;
+import org.example.market.jwt.CurrentMember;
+import org.example.market.jwt.MemberPrincipal;
 import org.example.market.service.MemberService;
+import org.example.market.service.OrderExportService;
 import org.example.market.service.OrderService;
 import org.example.market.service.ProductService;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
 
 @Slf4j
 @RestController
@@ -29,57 +38,103 @@ public class OrderController {
     private final ProductService productService;
     private final MemberService memberService;
     private final OrderService orderService;
+    private final OrderExportService orderExportService;
 
     @PostMapping("/{id}/reserve") // 예약
-    public ResponseEntity<?> reserveProduct(@PathVariable("id") Long id, @RequestBody BuyProductRequest buyProductRequest, @AuthenticationPrincipal UserDetails userDetails) {
-        if (userDetails == null) {
-            throw new UnauthorizedException("로그인이 필요합니다.");
-        }
+    public ResponseEntity<?> reserveProduct(@PathVariable("id") Long id, @RequestBody BuyProductRequest buyProductRequest, @CurrentMember MemberPrincipal principal) {
         Product product=productService.findById(id).orElseThrow(() -> new ProductNotFoundException("존재하지 않는 상품입니다."));
-        Member buyer = memberService.findByUsername(userDetails.getUsername()).orElseThrow(() -> new UsernameNotFoundException("존재하지 않는 회원입니다."));
+        Member buyer = memberService.getReference(principal.getId());
         try {
             orderService.reserveProduct(product, buyer, buyProductRequest.getPrice(), buyProductRequest.getQuantity());
             return ResponseEntity.ok("구매 요청에 성공하였습니다.");
         } catch (UnauthorizedException e) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body(e.getMessage());
+        } catch (InsufficientStockException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (IllegalStateException | IllegalArgumentException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
 
     }
 
-    @PostMapping("/{id}/approve") // 판매승인
-    public ResponseEntity<?> approveSale(@PathVariable("id") Long id, @AuthenticationPrincipal UserDetails userDetails) {
-        if (userDetails == null) {
-            throw new UnauthorizedException("로그인이 필요합니다.");
+    @PostMapping("/checkout") // 장바구니 일괄 예약
+    public ResponseEntity<?> checkout(@RequestBody CheckoutRequest checkoutRequest, @CurrentMember MemberPrincipal principal) {
+        Member buyer = memberService.getReference(principal.getId());
+        try {
+            return ResponseEntity.ok(orderService.checkout(buyer, checkoutRequest.getItems()));
+        } catch (CheckoutFailedException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getErrors());  // 줄별 실패 사유 반환, 주문은 하나도 생성되지 않음
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
         }
-        Member seller = memberService.findByUsername(userDetails.getUsername()).orElseThrow(() -> new UsernameNotFoundException("존재하지 않는 회원입니다."));
-        Orders order = orderService.findById(id);
+    }
+
+    @PostMapping("/{id}/approve") // 판매승인
+    public ResponseEntity<?> approveSale(@PathVariable("id") Long id, @CurrentMember MemberPrincipal principal) {
+        Member seller = memberService.getReference(principal.getId());
 
         try {
-            orderService.approveSale(order, seller);
+            Orders order = orderService.approveSale(id, seller);
             return ResponseEntity.ok(new OrderCompleteResponse(id, order.getBuyer().getId(), order.getQuantity(), order.getStatus()));
-        } catch (InsufficientStockException e) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());  // 재고 부족 시 409 상태와 메시지 반환
+        } catch (InsufficientStockException | IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());  // 재고 부족, 이미 처리된 주문은 409 상태와 메시지 반환
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("다른 요청과 충돌했습니다. 다시 시도해주세요.");
         }
     }
 
     @GetMapping("/buyer-list")
-    public ResponseEntity<?> getOrderByMember(@AuthenticationPrincipal UserDetails userDetails) {
-        if (userDetails == null) {
-            throw new UnauthorizedException("로그인이 필요합니다.");
-        }
-        Member buyer = memberService.findByUsername(userDetails.getUsername()).orElseThrow(() -> new UsernameNotFoundException("존재하지 않는 회원입니다."));
+    public ResponseEntity<?> getOrderByMember(@CurrentMember MemberPrincipal principal) {
+        Member buyer = memberService.getReference(principal.getId());
 
         return ResponseEntity.ok(orderService.getOrdersByMember(buyer));
     }
 
     @GetMapping("/seller-list/{productId}")
-    public ResponseEntity<?> getOrderByProduct(@PathVariable("productId") Long productId,@AuthenticationPrincipal UserDetails userDetails) {
-        if (userDetails == null) {
-            throw new UnauthorizedException("로그인이 필요합니다.");
-        }
+    public ResponseEntity<?> getOrderByProduct(@PathVariable("productId") Long productId, @CurrentMember MemberPrincipal principal) {
         Product product=productService.findById(productId).orElseThrow(()->new ProductNotFoundException("존재하지 않는 상품입니다."));
         return ResponseEntity.ok(orderService.getOrdersByProduct(product));
     }
+
+    @GetMapping("/export") // 판매자 주문 내보내기 (format=ndjson|csv)
+    public ResponseEntity<StreamingResponseBody> exportSellerOrders(@RequestParam(value = "format", defaultValue = "ndjson") String format,
+                                                                    @RequestParam(value = "productId", required = false) Long productId,
+                                                                    @CurrentMember MemberPrincipal principal) {
+        if (principal.getRole() != Member.Role.SELLER) {
+            throw new UnauthorizedException("판매자만 주문을 내보낼 수 있습니다.");
+        }
+        FileFormat exportFormat = exportFormat(format);
+        Long sellerId = principal.getId();
+        return export("orders-" + sellerId, exportFormat,
+                out -> orderExportService.exportBySeller(sellerId, productId, exportFormat, out));
+    }
+
+    @GetMapping("/export/all") // 정산용 전체 주문 내보내기
+    public ResponseEntity<StreamingResponseBody> exportAllOrders(@RequestParam(value = "format", defaultValue = "csv") String format,
+                                                                 @CurrentMember MemberPrincipal principal) {
+        if (principal.getRole() != Member.Role.ADMIN) {
+            throw new UnauthorizedException("관리자만 전체 주문을 내보낼 수 있습니다.");
+        }
+        FileFormat exportFormat = exportFormat(format);
+        return export("orders-all", exportFormat, out -> orderExportService.exportAll(exportFormat, out));
+    }
+
+    private static FileFormat exportFormat(String format) {
+        FileFormat exportFormat = FileFormat.of(format);
+        if (exportFormat == null) {
+            throw new BadRequestException("지원하지 않는 형식입니다: " + format);
+        }
+        return exportFormat;
+    }
+
+    // 반환 타입을 StreamingResponseBody로 선언해야 StreamingResponseBodyReturnValueHandler가 선택된다 (ResponseEntity<?>면 메시지 변환기로 넘어가 실패)
+    // 본문은 MVC 비동기 스레드에서 쓰이므로 요청 스레드와 DB 커넥션을 응답이 끝날 때까지 붙잡지 않는다
+    private ResponseEntity<StreamingResponseBody> export(String filename, FileFormat format, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_TYPE, format.getContentType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(filename + "." + format.getExtension())
+                        .build().toString())
+                .body(body);
+    }
 }
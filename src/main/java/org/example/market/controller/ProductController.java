@@ -1,65 +1,155 @@
 package org.example.market.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.example.market.controller.dto.FileFormat;
 import org.example.market.controller.dto.ProductDetailResponse;
+import org.example.market.controller.dto.ProductImportProgress;
 import org.example.market.controller.dto.ProductRegisterRequest;
+import org.example.market.controller.dto.ProductResponse;
+import org.example.market.controller.dto.ProductSalesResponse;
 import org.example.market.controller.dto.ProductUpdateRequest;
 import org.example.market.domain.Member;
 import org.example.market.domain.Product;
+import org.example.market.exception.BadRequestException;
 import org.example.market.exception.UnauthorizedException;
+import org.example.market.jwt.CurrentMember;
+import org.example.market.jwt.MemberPrincipal;
 import org.example.market.repository.OrderRepository;
 import org.example.market.service.MemberService;
+import org.example.market.service.ProductImportService;
+import org.example.market.service.ProductSalesService;
 import org.example.market.service.ProductService;
+import org.example.market.service.ProductStockBroadcaster;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.Locale;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/product")
 @RequiredArgsConstructor
 public class ProductController {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String NEXT_PAGE_HEADER = "X-Next-Page";
+    private static final int MAX_STREAM_IDS = 500;
+
     private final ProductService productService;
     private final MemberService memberService;
     private final OrderRepository orderRepository;
+    private final ProductSalesService productSalesService;
+    private final ProductImportService productImportService;
+    private final ProductStockBroadcaster productStockBroadcaster;
 
     @PostMapping("/add")
-    public ResponseEntity<?> addProduct(@RequestBody ProductRegisterRequest productRegisterRequest, @AuthenticationPrincipal UserDetails userDetails) {
-        if (userDetails == null) {
-            throw new UnauthorizedException("로그인이 필요합니다.");
+    public ResponseEntity<?> addProduct(@RequestBody ProductRegisterRequest productRegisterRequest, @CurrentMember MemberPrincipal principal) {
+        if (principal.getRole() != Member.Role.SELLER) {
+            throw new UnauthorizedException("판매자만 상품을 등록할 수 있습니다.");
         }
-        Member member = memberService.findByUsername(userDetails.getUsername())
+        // 응답에 판매자 정보가 포함되므로 프록시 대신 회원을 조회한다
+        Member member = memberService.findById(principal.getId())
                 .orElseThrow(() -> new UsernameNotFoundException("존재하지 않는 회원입니다."));
-        if (member.getRole() != Member.Role.SELLER) {
-            throw new UnauthorizedException("판매자만 상품을 등록할 수 있습니다.");
+        try {
+            productRegisterRequest.validate();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
         }
         productRegisterRequest.setSeller(member);
         productRegisterRequest.setStatus(Product.ProductStatus.FOR_SALE);
         return ResponseEntity.ok(productService.save(productRegisterRequest.toEntity()));
     }
 
+    // 상품 일괄 등록. 본문(CSV는 name,price,stock 헤더 필요, NDJSON은 한 줄에 /add 요청 하나)을 버퍼링하지 않고 읽는다
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    public ResponseEntity<?> importProducts(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body,
+                                            @CurrentMember MemberPrincipal principal) {
+        if (principal.getRole() != Member.Role.SELLER) {
+            throw new UnauthorizedException("판매자만 상품을 등록할 수 있습니다.");
+        }
+        FileFormat format = contentType.toLowerCase(Locale.ROOT).startsWith("text/csv") ? FileFormat.CSV : FileFormat.NDJSON;
+        ProductImportProgress result = productImportService.importProducts(principal.getId(), format, body);
+        if (result.getStatus() == ProductImportProgress.Status.FAILED) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(result);  // 실패 전까지 커밋된 배치는 importedRows에 포함
+        }
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/import") // 진행 중이거나 최근 끝난 일괄 등록 작업
+    public ResponseEntity<List<ProductImportProgress>> getImports(@CurrentMember MemberPrincipal principal) {
+        return ResponseEntity.ok(productImportService.findBySeller(principal.getId()));
+    }
+
+    @GetMapping("/import/{jobId}")
+    public ResponseEntity<?> getImport(@PathVariable("jobId") String jobId, @CurrentMember MemberPrincipal principal) {
+        return productImportService.findById(jobId, principal.getId())
+                .map(progress -> ResponseEntity.ok(progress))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @GetMapping("/all") // 제품 목록 표시, stock이 0이면 품절이라 표시
-    public ResponseEntity<List<Product>> getAllProducts() {
-        return ResponseEntity.ok(productService.findAll());
+    public ResponseEntity<List<ProductResponse>> getAllProducts(@RequestParam(value = "cursor", required = false) Long cursor,
+                                                                @RequestParam(value = "status", required = false) Product.ProductStatus status,
+                                                                @RequestParam(value = "size", defaultValue = "20") int size) {
+        Slice<ProductResponse> page = productService.findPage(cursor, status, Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.hasNext()) {
+            // 다음 페이지는 마지막 상품 id를 cursor로 넘겨 조회한다
+            List<ProductResponse> content = page.getContent();
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(content.get(content.size() - 1).getId()));
+        }
+        return response.body(page.getContent());
+    }
+
+    @GetMapping("/search") // 상품명 검색. 점수 순으로 page 단위 조회
+    public ResponseEntity<List<ProductResponse>> searchProducts(@RequestParam("q") String query,
+                                                                @RequestParam(value = "status", required = false) Product.ProductStatus status,
+                                                                @RequestParam(value = "page", defaultValue = "0") int page,
+                                                                @RequestParam(value = "size", defaultValue = "20") int size) {
+        Slice<ProductResponse> result = productService.search(query, status, Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE));
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (result.hasNext()) {
+            response.header(NEXT_PAGE_HEADER, String.valueOf(result.getNumber() + 1));
+        }
+        return response.body(result.getContent());
+    }
+
+    // 재고/상태 변경 구독 (SSE). 목록에 보이는 상품 id를 넘기면 커밋된 변경을 stock 이벤트([{id, stock, status}])로 받는다
+    // 반환 타입이 SseEmitter여야 스트리밍 응답으로 처리된다. 구독자 상한에 닿으면 503
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProducts(@RequestParam("ids") List<Long> ids) {
+        if (ids.isEmpty() || ids.size() > MAX_STREAM_IDS) {
+            throw new BadRequestException("구독할 상품은 1개 이상 " + MAX_STREAM_IDS + "개 이하로 지정해주세요.");
+        }
+        return productStockBroadcaster.subscribeProducts(ids);
+    }
+
+    @GetMapping(value = "/seller/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE) // 판매자 본인 상품 전체의 재고/상태 변경
+    public SseEmitter streamSellerProducts(@CurrentMember MemberPrincipal principal) {
+        if (principal.getRole() != Member.Role.SELLER) {
+            throw new UnauthorizedException("판매자만 구독할 수 있습니다.");
+        }
+        return productStockBroadcaster.subscribeSeller(principal.getId());
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getProductById(@PathVariable("id") Long id) {
-        return productService.findById(id)
-                .map(product -> ResponseEntity.ok(new ProductDetailResponse(product)))
+        return productService.findDetailById(id)
+                .map(detail -> ResponseEntity.ok(detail))
                 .orElse(ResponseEntity.notFound().build());
     }
 
     @GetMapping("/seller/products")
-    public ResponseEntity<List<ProductDetailResponse>> getSellerProducts(@AuthenticationPrincipal UserDetails userDetails) {
-        if (userDetails == null) {
-            throw new UnauthorizedException("로그인이 필요합니다.");
-        }
-        Member seller = memberService.findByUsername(userDetails.getUsername()).orElseThrow(() -> new UsernameNotFoundException("존재하지 않는 회원입니다."));
+    public ResponseEntity<List<ProductDetailResponse>> getSellerProducts(@CurrentMember MemberPrincipal principal) {
+        Member seller = memberService.getReference(principal.getId());
         List<Product> products = productService.findBySeller(seller);
         List<ProductDetailResponse> responses = products.stream()
                 .map(ProductDetailResponse::new)
@@ -67,23 +157,31 @@ public class ProductController {
         return ResponseEntity.ok(responses);
     }
 
+    @GetMapping("/seller/sales") // 판매자 대시보드: 상품별 예약, 판매 수량과 매출
+    public ResponseEntity<List<ProductSalesResponse>> getSellerSales(@CurrentMember MemberPrincipal principal) {
+        return ResponseEntity.ok(productSalesService.findBySeller(principal.getId()));
+    }
+
+    @GetMapping("/{id}/sales")
+    public ResponseEntity<?> getProductSales(@PathVariable("id") Long id, @CurrentMember MemberPrincipal principal) {
+        return productSalesService.findByProduct(id, principal.getId())
+                .map(sales -> ResponseEntity.ok(sales))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
     @PatchMapping("/{id}")
-    public ResponseEntity<?> updateProduct(@PathVariable("id") Long id, @RequestBody ProductUpdateRequest updateRequest, @AuthenticationPrincipal UserDetails userDetails) {
-        if (userDetails == null) {
-            throw new UnauthorizedException("로그인이 필요합니다.");
-        }
-        Member seller = memberService.findByUsername(userDetails.getUsername()).orElseThrow(() -> new UsernameNotFoundException("존재하지 않는 회원입니다."));
+    public ResponseEntity<?> updateProduct(@PathVariable("id") Long id, @RequestBody ProductUpdateRequest updateRequest, @CurrentMember MemberPrincipal principal) {
+        Member seller = memberService.getReference(principal.getId());
         Product updatedProduct = productService.updateProduct(id, updateRequest, seller);
         return ResponseEntity.ok(new ProductDetailResponse(updatedProduct));
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteProduct(@PathVariable("id") Long id, @AuthenticationPrincipal UserDetails userDetails) {
-        if (userDetails == null) {
-            throw new UnauthorizedException("로그인이 필요합니다.");
-        }
-        Member seller = memberService.findByUsername(userDetails.getUsername()).orElseThrow(() -> new UsernameNotFoundException("존재하지 않는 회원입니다."));
-        productService.deleteProduct(id, seller);
+    public ResponseEntity<?> deleteProduct(@PathVariable("id") Long id,
+                                           @RequestParam(value = "version", required = false) Long version,
+                                           @CurrentMember MemberPrincipal principal) {
+        Member seller = memberService.getReference(principal.getId());
+        productService.deleteProduct(id, version, seller);
         return ResponseEntity.ok().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package org.example.market.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class CheckoutLineError {
+    int line;  // 요청 items의 순번 (0부터)
+    Long productId;
+    String message;
+}
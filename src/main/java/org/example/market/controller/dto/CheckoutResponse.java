@@ -0,0 +1,13 @@
+package org.example.market.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class CheckoutResponse {
+    List<Long> orderIds;
+    Long totalPrice;
+}
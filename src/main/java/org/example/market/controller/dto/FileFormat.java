@@ -0,0 +1,32 @@
+package org.example.market.controller.dto;
+
+import lombok.Getter;
+
+import java.util.Locale;
+
+// 주문 내보내기, 상품 일괄 등록에서 쓰는 파일 형식
+@Getter
+public enum FileFormat {
+    NDJSON("application/x-ndjson", "ndjson"),
+    CSV("text/csv; charset=UTF-8", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    FileFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    // 지원하지 않는 형식이면 null
+    public static FileFormat of(String name) {
+        if (name == null) {
+            return null;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.market.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.example.market.domain.Orders.OrderStatus;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class OrderExportRow {
+    private Long id;
+    private Long productId;
+    private String productName;
+    private Long buyerId;
+    private OrderStatus status;
+    private Long quantity;
+    private Long totalPrice;
+    private LocalDateTime createdDate;
+}
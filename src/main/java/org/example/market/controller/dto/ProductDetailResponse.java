@@ -12,6 +12,7 @@ public class ProductDetailResponse {
     private String sellerName;
     private Product.ProductStatus status;
     private int stock;
+    private Long version;  // 수정, 삭제 요청에 그대로 보내면 그 사이에 바뀐 상품은 변경하지 않는다
 
     public ProductDetailResponse(Product product) {
         this.id = product.getId();
@@ -21,6 +22,7 @@ public class ProductDetailResponse {
         this.sellerName=product.getSeller().getUsername();
         this.status = product.getStatus();
         this.stock = product.getStock();
+        this.version = product.getVersion();
     }
 
 }
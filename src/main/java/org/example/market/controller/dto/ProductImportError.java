@@ -0,0 +1,11 @@
+package org.example.market.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ProductImportError {
+    long line;  // 업로드 파일의 줄 번호 (1부터, CSV 헤더 포함)
+    String message;
+}
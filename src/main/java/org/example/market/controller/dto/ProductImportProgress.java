@@ -0,0 +1,26 @@
+package org.example.market.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ProductImportProgress {
+    private String id;
+    private Status status;
+    private long processedRows;
+    private long importedRows;
+    private long failedRows;
+    private List<ProductImportError> errors;
+    private boolean errorsTruncated;  // 오류가 많아 일부만 담긴 경우
+    private String message;           // FAILED일 때 중단 사유
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+}
@@ -6,12 +6,33 @@ import org.example.market.domain.Product;
 
 @Data
 public class ProductRegisterRequest {
+    private static final int MAX_NAME_LENGTH = 255;
+
     private String name;
     private Long price;
     private Member seller;
     private Product.ProductStatus status;
     private Long stock;
 
+    // 단건 등록과 일괄 등록이 같은 규칙으로 검사한다. 잘못된 값이면 IllegalArgumentException
+    public void validate() {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("상품명을 입력해야 합니다.");
+        }
+        if (name.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("상품명은 " + MAX_NAME_LENGTH + "자 이하여야 합니다.");
+        }
+        if (price == null || price <= 0) {
+            throw new IllegalArgumentException("가격은 0보다 커야 합니다.");
+        }
+        if (stock == null || stock < 0) {
+            throw new IllegalArgumentException("재고는 0 이상이어야 합니다.");
+        }
+        if (stock > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("재고는 " + Integer.MAX_VALUE + " 이하여야 합니다.");
+        }
+    }
+
     public Product toEntity(){
         return Product.builder().name(name).price(price).seller(seller).status(status).stock(stock.intValue()).build();
     }
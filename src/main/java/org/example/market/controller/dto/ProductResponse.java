@@ -1,11 +1,15 @@
 package org.example.market.controller.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.example.market.domain.Product;
 
 import static org.example.market.domain.Product.*;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ProductResponse {
     private Long id;
     private String name;
@@ -0,0 +1,16 @@
+package org.example.market.controller.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class ProductSalesResponse {
+    private Long productId;
+    private String productName;
+    private long reservedCount;
+    private long reservedQuantity;
+    private long soldCount;
+    private long soldQuantity;
+    private long revenue;
+}
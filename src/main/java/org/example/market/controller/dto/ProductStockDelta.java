@@ -0,0 +1,21 @@
+package org.example.market.controller.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.example.market.domain.Product.ProductStatus;
+
+// 재고/상태 구독(SSE)으로 보내는 변경분. 삭제된 상품은 id와 deleted만 보낸다
+@Data
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductStockDelta {
+    private Long id;
+    private Integer stock;
+    private ProductStatus status;
+    private Boolean deleted;
+
+    public static ProductStockDelta deleted(Long id) {
+        return new ProductStockDelta(id, null, null, true);
+    }
+}
@@ -9,4 +9,6 @@ public class ProductUpdateRequest {
     private Long price;
     private Product.ProductStatus status;
     private Integer stock;
+    // 판매자가 수정 화면을 열 때 받은 상품 버전. 있으면 그 사이에 바뀐 상품은 수정하지 않고 409로 응답한다
+    private Long version;
 }
@@ -0,0 +1,99 @@
+package org.example.market.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기 복제본 라우팅. market.datasource.routing.enabled=true일 때 Spring Boot 기본 DataSource 대신 등록된다.
+ * 기본 DB와 복제본 모두 spring.datasource.hikari 설정으로 풀을 만들고, 풀 메트릭은 pool 태그(primary, replica-N)로 구분된다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "market.datasource.routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(DataSourceProperties dataSourceProperties,
+                                                             ReplicaRoutingProperties properties,
+                                                             Environment environment,
+                                                             MeterRegistry meterRegistry) {
+        HikariDataSource primary = pool(dataSourceProperties.determineUrl(), dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword(), dataSourceProperties, environment, meterRegistry);
+        primary.setPoolName("primary");
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            ReplicaRoutingProperties.Replica replica = properties.getReplicas().get(i);
+            String username = replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.determineUsername();
+            String password = replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword();
+            if (properties.isMigrateReplicas()) {
+                migrate(replica.getUrl(), username, password, environment);
+            }
+            HikariDataSource pool = pool(replica.getUrl(), username, password, dataSourceProperties, environment, meterRegistry);
+            pool.setPoolName("replica-" + i);
+            pool.setReadOnly(true);
+            if (replica.getMaximumPoolSize() != null) {
+                pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            }
+            replicas.add(pool);
+        }
+        log.info("읽기 복제본 라우팅: 복제본 {}개, 읽기-쓰기 일관성 구간 {}", replicas.size(), properties.getReadYourWritesWindow());
+
+        return new ReplicaRoutingDataSource(primary, replicas, properties.getReadYourWritesWindow(),
+                properties.getMaximumTrackedMembers(), meterRegistry);
+    }
+
+    // JPA, Flyway, JdbcTemplate이 쓰는 DataSource
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    private static HikariDataSource pool(String url, String username, String password, DataSourceProperties dataSourceProperties,
+                                         Environment environment, MeterRegistry meterRegistry) {
+        HikariDataSource pool = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setDriverClassName(dataSourceProperties.determineDriverClassName());
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return pool;
+    }
+
+    // 운영 복제본은 복제로 스키마를 받으므로 쓰지 않는다
+    private static void migrate(String url, String username, String password, Environment environment) {
+        String vendor = DatabaseDriver.fromJdbcUrl(url).getId();
+        String[] locations = Binder.get(environment)
+                .bind("spring.flyway.locations", Bindable.listOf(String.class))
+                .orElse(List.of("classpath:db/migration"))
+                .stream()
+                .map(location -> location.replace("{vendor}", vendor))
+                .toArray(String[]::new);
+        Flyway.configure()
+                .dataSource(url, username, password)
+                .locations(locations)
+                .load()
+                .migrate();
+    }
+}
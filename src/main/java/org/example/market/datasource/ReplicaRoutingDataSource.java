@@ -0,0 +1,156 @@
+package org.example.market.datasource;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.market.jwt.MemberPrincipal;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 읽기 전용 트랜잭션은 복제본으로, 나머지는 기본 DB로 보낸다. 복제본이 여러 개면 돌아가며 쓴다.
+ * 트랜잭션의 readOnly 표시는 커넥션을 얻은 뒤에 설정되므로 반드시 LazyConnectionDataSourceProxy로 감싸
+ * 첫 SQL을 실행할 때 커넥션을 고르게 한다.
+ * 최근 쓰기 회원 기록은 노드 메모리에 있으므로, 여러 노드에서는 같은 회원의 요청이 같은 노드로 가야 보장된다.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+    static final String PRIMARY = "primary";
+    private static final String CONNECTIONS = "market.datasource.routing.connections";
+    private static final ThreadLocal<Boolean> PRIMARY_ONLY = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final List<DataSource> pools = new ArrayList<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private final Cache<Long, Boolean> recentWriters;  // 읽기-쓰기 일관성 구간 안에 있는 회원
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+    private final Counter replicaFailures;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration readYourWritesWindow,
+                                    long maximumTrackedMembers, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        pools.add(primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            replicaKeys.add(key);
+            targets.put(key, replicas.get(i));
+            pools.add(replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+
+        this.recentWriters = readYourWritesWindow.isZero() ? null : Caffeine.newBuilder()
+                .expireAfterWrite(readYourWritesWindow)
+                .maximumSize(maximumTrackedMembers)
+                .build();
+        this.primaryConnections = meterRegistry.counter(CONNECTIONS, "target", "primary");
+        this.replicaConnections = meterRegistry.counter(CONNECTIONS, "target", "replica");
+        this.replicaFailures = meterRegistry.counter(CONNECTIONS, "target", "replica-fallback");
+    }
+
+    // 복제 지연을 허용할 수 없는 읽기(무효화 직후 다시 채우는 캐시 등)는 읽기 전용이어도 기본 DB에서 한다
+    // 커넥션은 첫 SQL을 실행할 때 고르므로 action 안에서 처음 SQL을 실행해야 한다. 라우팅을 쓰지 않으면 action만 실행된다
+    public static <T> T readFromPrimary(Supplier<T> action) {
+        if (PRIMARY_ONLY.get() != null) {
+            return action.get();
+        }
+        PRIMARY_ONLY.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            PRIMARY_ONLY.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (PRIMARY_ONLY.get() != null) {
+            return PRIMARY;
+        }
+        Long memberId = currentMemberId();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            rememberWriter(memberId);
+            return PRIMARY;
+        }
+        if (replicaKeys.isEmpty() || (memberId != null && recentWriters != null && recentWriters.getIfPresent(memberId) != null)) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(next.getAndIncrement(), replicaKeys.size()));
+    }
+
+    // 복제본에 연결하지 못하면 요청을 실패시키지 않고 기본 DB에서 읽는다
+    @Override
+    public Connection getConnection() throws SQLException {
+        DataSource target = determineTargetDataSource();
+        if (target == primary) {
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+        try {
+            Connection connection = target.getConnection();
+            replicaConnections.increment();
+            return connection;
+        } catch (SQLException e) {
+            log.warn("복제본 연결 실패, 기본 DB에서 읽습니다: {}", e.getMessage());
+            replicaFailures.increment();
+            primaryConnections.increment();
+            return primary.getConnection();
+        }
+    }
+
+    // 쓰기 트랜잭션이 커밋되면 그 회원을 일정 시간 기본 DB에서 읽게 한다
+    private void rememberWriter(Long memberId) {
+        if (memberId == null || recentWriters == null
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(memberId, Boolean.TRUE);
+            }
+        });
+    }
+
+    private static Long currentMemberId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof MemberPrincipal principal) {
+            return principal.getId();
+        }
+        return null;
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        for (DataSource pool : pools) {
+            if (pool instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
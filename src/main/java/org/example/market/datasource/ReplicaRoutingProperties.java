@@ -0,0 +1,37 @@
+package org.example.market.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * market.datasource.routing 설정. 기본 DB는 spring.datasource를 그대로 쓰고 읽기 복제본만 여기에 둔다.
+ */
+@Data
+@ConfigurationProperties(prefix = "market.datasource.routing")
+public class ReplicaRoutingProperties {
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // 회원이 쓰기 트랜잭션을 커밋한 뒤 이 시간 동안은 그 회원의 읽기도 기본 DB로 보낸다. 0이면 끈다
+    // 복제 지연보다 길게 잡아야 방금 한 예약이 내 주문 목록에 보인다
+    private Duration readYourWritesWindow = Duration.ZERO;
+
+    // 최근 쓰기 회원을 기억하는 최대 수
+    private long maximumTrackedMembers = 100_000;
+
+    // 로컬 확인용: 복제가 없는 DB(H2)를 복제본으로 쓸 때 기동 시 복제본에도 마이그레이션을 적용한다
+    private boolean migrateReplicas = false;
+
+    @Data
+    public static class Replica {
+        private String url;
+        private String username;             // 없으면 spring.datasource.username
+        private String password;             // 없으면 spring.datasource.password
+        private Integer maximumPoolSize;     // 없으면 spring.datasource.hikari 설정
+    }
+}
@@ -11,7 +11,8 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Member {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq")
+    @SequenceGenerator(name = "member_seq", sequenceName = "member_seq", allocationSize = 100)
     @Column(name="member_id")
     private Long id;
     private String username;
@@ -46,4 +47,17 @@ public class Member {
         this.password = password;
         this.role = role;
     }
+
+    // 인증된 회원은 getReference 프록시로 넘어오므로 인스턴스가 아닌 id로 비교한다
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Member member)) return false;
+        return getId() != null && getId().equals(member.getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return Member.class.hashCode();
+    }
 }
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 
 import static org.example.market.domain.Orders.OrderStatus.COMPLETED;
@@ -14,8 +15,11 @@ import static org.example.market.domain.Orders.OrderStatus.RESERVED;
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Orders extends BaseTimeEntity{
+    // IDENTITY는 INSERT를 즉시 실행해야 해서 JDBC 배치가 꺼진다. 시퀀스 값을 100개씩 미리 받아 id를 애플리케이션에서 정한다
+    // (시퀀스가 없는 MySQL에서는 Hibernate가 같은 이름의 테이블로 대신한다)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 100)
     private Long id;
 
     @ManyToOne
@@ -48,6 +52,15 @@ public class Orders extends BaseTimeEntity{
     @Column(nullable = false)
     private Long totalPrice;
 
+    // 재고 원장 사용 시 판매 수량이 아직 Product.stock에 반영되지 않았으면 false
+    @Column(nullable = false)
+    @ColumnDefault("true")
+    private boolean stockSynced = true;
+
+    // 같은 주문을 동시에 승인하거나 승인과 취소가 겹치면 나중에 커밋하는 쪽이 실패한다
+    @Version
+    private Long version;
+
     public Orders(Product product, Member buyer, OrderStatus status, Long quantity, Long totalPrice) {
         this.product = product;
         this.buyer = buyer;
@@ -59,4 +72,8 @@ public class Orders extends BaseTimeEntity{
     public void setCompleted(){
         this.status= COMPLETED;
     }
+
+    public void markStockUnsynced() {
+        this.stockSynced = false;
+    }
 }
@@ -0,0 +1,37 @@
+package org.example.market.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 아웃박스 릴레이의 잠금 행과 전달 통계. 전달 여부는 이벤트마다 OutboxEvent.publishedAt에 남기고,
+ * 이 행은 여러 노드 중 한 릴레이만 전달하도록 잠그는 데 쓴다. lastId는 지금까지 전달한 가장 큰 id다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OutboxCheckpoint {
+    @Id
+    @Column(length = 50)
+    private String name;
+
+    @Column(nullable = false)
+    private long lastId;
+
+    @Column(nullable = false)
+    private long delivered;     // 누적 전달 건수
+
+    private LocalDateTime updatedAt;
+
+    public void advance(long lastId, int count) {
+        this.lastId = Math.max(this.lastId, lastId);
+        this.delivered += count;
+        this.updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.market.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 외부 시스템에 전달할 이벤트. 상태를 바꾼 트랜잭션 안에서 INSERT되므로 변경과 이벤트가 함께 커밋되거나 롤백된다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class OutboxEvent {
+    // 릴레이가 id 순서로 전달한다. 시퀀스를 미리 받아 두면 노드마다 id 구간이 달라 순서가 섞이므로 IDENTITY로 둔다
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 50)
+    private String aggregateType;
+
+    @Column(nullable = false)
+    private Long aggregateId;
+
+    @Column(nullable = false, length = 50)
+    private String eventType;
+
+    // JSON
+    @Column(nullable = false, length = 4000)
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    // 싱크에 전달한 시각. null이면 아직 전달하지 않은 이벤트
+    private LocalDateTime publishedAt;
+
+    public OutboxEvent(String aggregateType, Long aggregateId, String eventType, String payload) {
+        this.aggregateType = aggregateType;
+        this.aggregateId = aggregateId;
+        this.eventType = eventType;
+        this.payload = payload;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -13,7 +13,8 @@ import java.util.List;
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_seq", allocationSize = 100)
     @Column(name="product_id")
     private Long id;
     private String name;
@@ -37,6 +38,11 @@ public class Product {
     @ColumnDefault("0")
     private int stock;
 
+    // 판매 승인과 상품 수정이 서로의 재고, 상태 변경을 덮어쓰지 않도록 낙관적 잠금을 건다.
+    // 재고를 바꾸는 벌크 UPDATE(ProductRepository)도 버전을 올린다
+    @Version
+    private Long version;
+
     @Builder
     public Product(String name, Long price, ProductStatus status, Member seller, int stock) {
         this.name = name;
@@ -0,0 +1,72 @@
+package org.example.market.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Persistable;
+
+/**
+ * 상품별 판매 집계. 예약/승인 트랜잭션에서 증감 UPDATE로 함께 갱신하므로 주문 행을 읽지 않고 조회할 수 있다.
+ * 값이 어긋나면 ProductSalesService.rebuild로 Orders에서 다시 계산한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class ProductSales implements Persistable<Long> {
+    @Id
+    private Long productId;
+
+    @Column(nullable = false)
+    private long reservedCount;     // 승인 대기 중인 예약 건수
+
+    @Column(nullable = false)
+    private long reservedQuantity;
+
+    @Column(nullable = false)
+    private long soldCount;
+
+    @Column(nullable = false)
+    private long soldQuantity;
+
+    @Column(nullable = false)
+    private long revenue;
+
+    // id를 직접 지정하므로 save가 merge(SELECT 후 INSERT)로 처리되지 않도록 새 엔티티인지 따로 표시한다
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private boolean newEntity = true;
+
+    public ProductSales(Long productId) {
+        this.productId = productId;
+    }
+
+    public void reset(long reservedCount, long reservedQuantity, long soldCount, long soldQuantity, long revenue) {
+        this.reservedCount = reservedCount;
+        this.reservedQuantity = reservedQuantity;
+        this.soldCount = soldCount;
+        this.soldQuantity = soldQuantity;
+        this.revenue = revenue;
+    }
+
+    @Override
+    public Long getId() {
+        return productId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.newEntity = false;
+    }
+}
@@ -0,0 +1,53 @@
+package org.example.market.domain;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * 액세스 토큰 재발급용 리프레시 토큰. 원문은 저장하지 않고 SHA-256 해시만 보관한다.
+ * 재발급할 때마다 새 토큰으로 교체(rotation)하며, 같은 로그인에서 이어진 토큰은 family로 묶는다.
+ * 이미 교체된 토큰이 다시 제출되면 탈취로 보고 family 전체를 폐기한다.
+ */
+@Entity
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(name = "refresh_token", indexes = {
+        @Index(name = "ux_refresh_token_hash", columnList = "tokenHash", unique = true),
+        @Index(name = "ix_refresh_token_family", columnList = "family")
+})
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "refresh_token_seq")
+    @SequenceGenerator(name = "refresh_token_seq", sequenceName = "refresh_token_seq", allocationSize = 100)
+    private Long id;
+
+    @Column(nullable = false, length = 43)  // base64url(SHA-256)
+    private String tokenHash;
+
+    @Column(nullable = false, length = 36)
+    private String family;
+
+    @Column(nullable = false)
+    private Long memberId;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    @Column(nullable = false)
+    private boolean revoked;
+
+    public RefreshToken(String tokenHash, String family, Long memberId, Instant expiresAt) {
+        this.tokenHash = tokenHash;
+        this.family = family;
+        this.memberId = memberId;
+        this.expiresAt = expiresAt;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,7 @@
+package org.example.market.event;
+
+/**
+ * 예약된 주문의 판매가 승인되었음을 알린다. 승인 트랜잭션 안에서 발행되며 구독자도 같은 트랜잭션에서 처리한다.
+ */
+public record OrderCompletedEvent(Long productId, Long quantity, Long totalPrice) {
+}
@@ -0,0 +1,8 @@
+package org.example.market.event;
+
+/**
+ * 한 상품의 주문들이 예약되었음을 알린다. 장바구니 주문은 상품별로 합쳐 한 번만 발행한다.
+ * 예약 트랜잭션 안에서 발행되며 구독자도 같은 트랜잭션에서 처리한다.
+ */
+public record OrderReservedEvent(Long productId, Long orders, Long quantity) {
+}
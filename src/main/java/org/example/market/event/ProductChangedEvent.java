@@ -0,0 +1,7 @@
+package org.example.market.event;
+
+/**
+ * 상품의 정보, 재고, 상태가 바뀌었거나 상품이 삭제되었음을 알린다. 구독자는 커밋 이후에 처리한다.
+ */
+public record ProductChangedEvent(Long productId) {
+}
@@ -0,0 +1,7 @@
+package org.example.market.event;
+
+/**
+ * 한 상품의 예약 주문들이 만료되어 취소되었음을 알린다. 취소 트랜잭션 안에서 발행되며 구독자도 같은 트랜잭션에서 처리한다.
+ */
+public record ReservationsCanceledEvent(Long productId, Long orders, Long quantity) {
+}
@@ -0,0 +1,8 @@
+package org.example.market.exception;
+
+// 요청 파라미터나 본문 형식이 잘못된 경우. 400으로 응답한다
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package org.example.market.exception;
+
+import lombok.Getter;
+import org.example.market.controller.dto.CheckoutLineError;
+
+import java.util.List;
+
+@Getter
+public class CheckoutFailedException extends RuntimeException{
+    private final List<CheckoutLineError> errors;
+
+    public CheckoutFailedException(List<CheckoutLineError> errors) {
+        super("주문할 수 없는 상품이 있습니다.");
+        this.errors = errors;
+    }
+}
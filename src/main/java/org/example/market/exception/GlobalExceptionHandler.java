@@ -1,11 +1,14 @@
 package org.example.market.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 @Slf4j
 @ControllerAdvice
@@ -23,6 +26,28 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(ex.getMessage(), HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<String> handleBadRequestException(BadRequestException ex) {
+        return ResponseEntity.badRequest().body(ex.getMessage());
+    }
+
+    // 쿼리 파라미터가 없거나 타입이 맞지 않는 경우 (예: /product/stream?ids=abc)
+    @ExceptionHandler({MissingServletRequestParameterException.class, MethodArgumentTypeMismatchException.class})
+    public ResponseEntity<String> handleInvalidParameterException(Exception ex) {
+        return ResponseEntity.badRequest().body("요청 파라미터가 올바르지 않습니다: " + ex.getMessage());
+    }
+
+    @ExceptionHandler(SubscriberLimitException.class)
+    public ResponseEntity<String> handleSubscriberLimitException(SubscriberLimitException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+
+    // @RetryOnConflict 재시도를 모두 써도 충돌했거나, 재시도하지 않는 변경(상품 수정, 삭제)이 충돌한 경우
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<String> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("다른 요청과 충돌했습니다. 다시 시도해주세요.");
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleAllExceptions(Exception ex) {
         ex.printStackTrace();
@@ -0,0 +1,8 @@
+package org.example.market.exception;
+
+// 노드의 SSE 구독자 수가 상한에 닿은 경우. 503으로 응답하고 클라이언트는 나중에 다시 연결한다
+public class SubscriberLimitException extends RuntimeException {
+    public SubscriberLimitException(String message) {
+        super(message);
+    }
+}
@@ -1,43 +1,83 @@
 package org.example.market.jwt;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.function.Function;
 
 @Component
+@RequiredArgsConstructor
 public class JwtUtil {
     private static final String SECRET_KEY = "abcdhew2140y823rh8932hfhg82hge132234g32g2g233g25"; // 편의상 이곳에 노출시켰음
+    private static final Key KEY = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+    private static final JwtParser PARSER = Jwts.parserBuilder().setSigningKey(KEY).build();
+
+    private final VerifiedTokenCache verifiedTokenCache;
+
+    // 만료된 액세스 토큰은 /auth/refresh로 다시 받는다
+    @Value("${market.jwt.access-token-ttl:15m}")
+    private Duration accessTokenTtl = Duration.ofMinutes(15);
 
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof MemberPrincipal principal) {
+            // 요청마다 회원을 조회하지 않도록 회원 id와 역할을 토큰에 담는다
+            claims.put(MemberPrincipal.MEMBER_ID_CLAIM, principal.getId());
+            if (principal.getRole() != null) {
+                claims.put(MemberPrincipal.ROLE_CLAIM, principal.getRole().name());
+            }
+        }
         return createToken(claims, userDetails.getUsername());
     }
 
     private String createToken(Map<String, Object> claims, String subject) {
-        byte[] keyBytes= Decoders.BASE64.decode(SECRET_KEY);
-        Key key= Keys.hmacShaKeyFor(keyBytes);
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10))
-                .signWith(key,SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + accessTokenTtl.toMillis()))
+                .signWith(KEY, SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    public Duration getAccessTokenTtl() {
+        return accessTokenTtl;
+    }
+
+    // 서명과 만료를 한 번의 파싱으로 검증한다. 이미 검증한 토큰은 캐시에서 claims를 꺼낸다
+    public Optional<Claims> verify(String token) {
+        Claims cached = verifiedTokenCache.get(token);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        try {
+            Claims claims = PARSER.parseClaimsJws(token).getBody();
+            verifiedTokenCache.put(token, claims);
+            return Optional.of(claims);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     public Boolean validateToken(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return verify(token)
+                .map(claims -> claims.getSubject().equals(userDetails.getUsername()))
+                .orElse(false);
     }
 
     public String extractUsername(String token) {
@@ -50,15 +90,7 @@ public class JwtUtil {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY)))
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
-
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return PARSER.parseClaimsJws(token).getBody();
     }
 
     public Date extractExpiration(String token) {
@@ -0,0 +1,81 @@
+package org.example.market.jwt;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import org.example.market.domain.Member;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 인증된 회원 정보. 로그인 시에는 Member에서, 이후 요청에서는 JWT claims에서 만들어지므로 member 테이블을 다시 조회하지 않는다.
+ */
+@Getter
+public class MemberPrincipal implements UserDetails, CredentialsContainer {
+    public static final String MEMBER_ID_CLAIM = "mid";
+    public static final String ROLE_CLAIM = "role";
+
+    private final Long id;
+    private final String username;
+    private String password; // 로그인 인증 시에만 사용
+    private final Member.Role role;
+
+    public MemberPrincipal(Long id, String username, String password, Member.Role role) {
+        this.id = id;
+        this.username = username;
+        this.password = password;
+        this.role = role;
+    }
+
+    public static MemberPrincipal from(Member member) {
+        return new MemberPrincipal(member.getId(), member.getUsername(), member.getPassword(), member.getRole());
+    }
+
+    // 회원 id claim이 없는 이전 형식의 토큰이면 null
+    public static MemberPrincipal from(Claims claims) {
+        Long id = claims.get(MEMBER_ID_CLAIM, Long.class);
+        if (id == null) {
+            return null;
+        }
+        String role = claims.get(ROLE_CLAIM, String.class);
+        return new MemberPrincipal(id, claims.getSubject(), null, role != null ? Member.Role.valueOf(role) : null);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        if (role == null) {
+            return Collections.emptyList();
+        }
+        return List.of(new SimpleGrantedAuthority(role.getDescription()));
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        this.password = null;
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.market.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * 이벤트를 한 줄에 하나씩 JSON으로 파일 끝에 이어 쓴다.
+ * 배치마다 디스크에 기록(force)한 뒤 돌아오므로 전달 시각이 기록된 이벤트는 파일에 남아 있다.
+ * 기록 후 전달 시각 커밋 전에 실패하면 같은 줄이 다시 쓰일 수 있어 소비자는 id로 중복을 거른다.
+ */
+public class FileOutboxSink implements OutboxSink, Closeable {
+    private final ObjectMapper objectMapper;
+    private final FileChannel channel;
+
+    public FileOutboxSink(Path file, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void deliver(List<OutboxMessage> messages) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (OutboxMessage message : messages) {
+            lines.append(line(message)).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    String line(OutboxMessage message) throws IOException {
+        ObjectNode node = objectMapper.createObjectNode();
+        node.put("id", message.id());
+        node.put("aggregateType", message.aggregateType());
+        node.put("aggregateId", message.aggregateId());
+        node.put("eventType", message.eventType());
+        node.put("createdAt", message.createdAt().toString());
+        node.set("payload", objectMapper.readTree(message.payload()));
+        return objectMapper.writeValueAsString(node);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,24 @@
+package org.example.market.outbox;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 전달받은 이벤트를 메모리에 쌓는 싱크. 테스트와 로컬 확인용이며 비우지 않으면 계속 늘어난다.
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+    private final List<OutboxMessage> messages = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void deliver(List<OutboxMessage> messages) {
+        this.messages.addAll(messages);
+    }
+
+    public List<OutboxMessage> messages() {
+        return List.copyOf(messages);
+    }
+
+    public void clear() {
+        messages.clear();
+    }
+}
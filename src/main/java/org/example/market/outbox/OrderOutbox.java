@@ -0,0 +1,49 @@
+package org.example.market.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.example.market.domain.Orders;
+import org.example.market.domain.Orders.OrderStatus;
+import org.example.market.domain.OutboxEvent;
+import org.example.market.repository.OrderRepository.ExpiredReservation;
+import org.example.market.repository.OutboxEventRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 주문 상태 변경을 아웃박스에 기록한다. 호출한 트랜잭션 안에서 INSERT하므로 주문 변경과 함께 커밋되거나 롤백된다.
+ */
+@Component
+@ConditionalOnProperty(prefix = "market.outbox", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class OrderOutbox {
+    static final String AGGREGATE_TYPE = "ORDER";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public record Payload(Long orderId, Long productId, Long buyerId, OrderStatus status, Long quantity, Long totalPrice) {
+    }
+
+    // 주문의 현재 상태로 이벤트를 남긴다 (ORDER_RESERVED, ORDER_COMPLETED, ORDER_CANCELED)
+    public void record(Orders order) {
+        Long productId = order.getProduct() != null ? order.getProduct().getId() : null;
+        append(new Payload(order.getId(), productId, order.getBuyer().getId(), order.getStatus(),
+                order.getQuantity(), order.getTotalPrice()));
+    }
+
+    public void recordCanceled(ExpiredReservation reservation) {
+        append(new Payload(reservation.getId(), reservation.getProductId(), reservation.getBuyerId(), OrderStatus.CANCELED,
+                reservation.getQuantity(), reservation.getTotalPrice()));
+    }
+
+    private void append(Payload payload) {
+        try {
+            outboxEventRepository.save(new OutboxEvent(AGGREGATE_TYPE, payload.orderId(), "ORDER_" + payload.status().name(),
+                    objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("주문 이벤트를 직렬화하지 못했습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package org.example.market.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 주문 이벤트 아웃박스. market.outbox.enabled=true일 때 예약/승인/만료 취소가 outbox_event에 기록되고 OutboxRelay가 싱크로 전달한다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(prefix = "market.outbox", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(OutboxProperties.class)
+public class OutboxConfig {
+
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink outboxSink(OutboxProperties properties, ObjectMapper objectMapper) throws IOException {
+        if (properties.getSink() == OutboxProperties.Sink.MEMORY) {
+            return new InMemoryOutboxSink();
+        }
+        if (properties.getFile() == null || !Path.of(properties.getFile()).isAbsolute()) {
+            throw new IllegalStateException("market.outbox.file에 아웃박스 파일의 절대 경로를 지정해주세요: " + properties.getFile());
+        }
+        Path file = Path.of(properties.getFile());
+        log.info("아웃박스 파일 싱크: {}", file.toAbsolutePath());
+        return new FileOutboxSink(file, objectMapper);
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.market.outbox;
+
+import java.time.LocalDateTime;
+
+/**
+ * 싱크에 전달하는 아웃박스 이벤트. id는 이벤트마다 고유하고 증가하므로 소비자는 이미 받은 id를 건너뛰어 중복을 제거한다.
+ */
+public record OutboxMessage(Long id, String aggregateType, Long aggregateId, String eventType, String payload,
+                            LocalDateTime createdAt) {
+}
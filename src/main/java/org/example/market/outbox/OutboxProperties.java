@@ -0,0 +1,31 @@
+package org.example.market.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * market.outbox 설정.
+ */
+@Data
+@ConfigurationProperties(prefix = "market.outbox")
+public class OutboxProperties {
+    private boolean enabled = false;
+
+    private Sink sink = Sink.FILE;
+
+    // FILE 싱크가 NDJSON으로 이어 쓰는 파일. 작업 디렉터리에 따라 위치가 바뀌지 않도록 절대 경로만 받는다
+    private String file;
+
+    // 한 트랜잭션에서 읽어 싱크에 넘기는 이벤트 수
+    private int batchSize = 500;
+
+    // 전달한 이벤트를 지우기 전까지 보관하는 시간. 싱크 쪽 장애 시 다시 보낼 수 있는 범위
+    private Duration retention = Duration.ofHours(24);
+
+    public enum Sink {
+        FILE,
+        MEMORY  // 테스트, 로컬 확인용. 전달한 이벤트를 메모리에 쌓기만 한다
+    }
+}
@@ -0,0 +1,136 @@
+package org.example.market.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.market.domain.OutboxCheckpoint;
+import org.example.market.repository.OutboxCheckpointRepository;
+import org.example.market.repository.OutboxEventRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 아직 전달하지 않은 아웃박스 이벤트를 id 순서로 batch-size개씩 싱크에 전달하고 행마다 전달 시각을 기록한다.
+ * 배치마다 체크포인트 행을 잠근 트랜잭션에서 전달하므로 여러 노드 중 한 곳만 전달한다.
+ * 먼저 id를 받고 늦게 커밋된 이벤트는 더 큰 id보다 뒤에 전달될 수 있지만 빠지지는 않는다.
+ * 같은 주문의 다음 변경은 앞 변경이 커밋된 뒤에 생기므로 주문별 순서는 유지된다.
+ * 싱크가 실패하거나 커밋 전에 종료되면 전달 기록이 남지 않아 같은 배치를 다시 보낸다 (at-least-once).
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "market.outbox", name = "enabled", havingValue = "true")
+public class OutboxRelay {
+    static final String CHECKPOINT = "orders";
+    static final String DELIVERED = "market.outbox.delivered";
+    static final String FAILURES = "market.outbox.failures";
+    static final String BATCH = "market.outbox.relay.batch";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxCheckpointRepository outboxCheckpointRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+    private final Counter delivered;
+    private final Counter failures;
+    private final Timer batchTimer;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxCheckpointRepository outboxCheckpointRepository,
+                       OutboxSink outboxSink,
+                       TransactionTemplate transactionTemplate,
+                       OutboxProperties properties,
+                       MeterRegistry meterRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxCheckpointRepository = outboxCheckpointRepository;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.delivered = meterRegistry.counter(DELIVERED);
+        this.failures = meterRegistry.counter(FAILURES);
+        this.batchTimer = Timer.builder(BATCH).publishPercentileHistogram().register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${market.outbox.relay-interval-ms:1000}",
+            initialDelayString = "${market.outbox.relay-interval-ms:1000}")
+    public void relayPending() {
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("아웃박스 전달 실패, 다음 주기에 다시 전달합니다: {}", e.getMessage());
+        }
+    }
+
+    // 밀린 이벤트를 모두 전달하고 전달한 건수를 돌려준다
+    public int relay() {
+        int total = 0;
+        int relayed;
+        do {
+            relayed = batchTimer.record(() -> transactionTemplate.execute(status -> relayBatch()));
+            total += relayed;
+        } while (relayed == properties.getBatchSize());
+        return total;
+    }
+
+    private int relayBatch() {
+        Optional<OutboxCheckpoint> locked = outboxCheckpointRepository.findForUpdate(CHECKPOINT);
+        if (locked.isEmpty()) {
+            return 0;  // 다른 노드가 전달 중
+        }
+        OutboxCheckpoint checkpoint = locked.get();
+
+        List<OutboxMessage> messages = outboxEventRepository.findUnpublished(PageRequest.of(0, properties.getBatchSize()));
+        if (messages.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            outboxSink.deliver(messages);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        List<Long> ids = new ArrayList<>(messages.size());
+        for (OutboxMessage message : messages) {
+            ids.add(message.id());
+        }
+        outboxEventRepository.markPublished(ids, LocalDateTime.now());
+        checkpoint.advance(messages.get(messages.size() - 1).id(), messages.size());
+        delivered.increment(messages.size());
+        return messages.size();
+    }
+
+    @Scheduled(cron = "${market.outbox.cleanup-cron:0 */10 * * * *}")
+    public void scheduledCleanup() {
+        cleanup();
+    }
+
+    // 전달을 마치고 보관 기간이 지난 이벤트를 batch-size개씩 지운다
+    public int cleanup() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        int total = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> {
+                List<Long> ids = outboxEventRepository.findPublishedIdsBefore(cutoff, PageRequest.of(0, properties.getBatchSize()));
+                outboxEventRepository.deleteAllByIdInBatch(ids);
+                return ids.size();
+            });
+            total += deleted;
+        } while (deleted == properties.getBatchSize());
+        if (total > 0) {
+            log.info("전달한 아웃박스 이벤트 {}건 삭제", total);
+        }
+        return total;
+    }
+}
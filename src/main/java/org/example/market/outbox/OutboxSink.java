@@ -0,0 +1,13 @@
+package org.example.market.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * 아웃박스 이벤트를 받을 곳. 예외 없이 돌아오면 전달된 것으로 보고 체크포인트를 옮긴다.
+ * 예외가 나면 같은 배치를 다시 전달하므로 구현은 같은 이벤트를 여러 번 받아도 되어야 한다 (at-least-once).
+ * 다른 구현을 쓰려면 OutboxSink 빈을 직접 등록한다.
+ */
+public interface OutboxSink {
+    void deliver(List<OutboxMessage> messages) throws IOException;
+}
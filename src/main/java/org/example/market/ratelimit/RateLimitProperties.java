@@ -0,0 +1,34 @@
+package org.example.market.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * market.rate-limit 설정. 정책은 선언 순서대로 경로를 비교해 처음 일치한 것 하나만 적용한다.
+ */
+@Data
+@ConfigurationProperties(prefix = "market.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+
+    // 동시에 추적하는 (정책, 클라이언트) 수. 넘으면 오래 쓰지 않은 것부터 버린다
+    private long maximumKeys = 100_000;
+
+    // 이 시간 동안 요청이 없던 클라이언트 상태는 버킷이 가득 찬 상태와 같으므로 지운다
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    private Map<String, Policy> policies = new LinkedHashMap<>();
+
+    @Data
+    public static class Policy {
+        private List<String> patterns = new ArrayList<>();
+        private int capacity;              // 한 번에 허용하는 최대 요청 수 (버킷 크기)
+        private double refillPerSecond;    // 초당 채워지는 요청 수 (지속 허용량)
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.market.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 경로 그룹별 토큰 버킷 제한. 버킷은 GCRA로 구현해 클라이언트마다 "다음 요청이 허용되는 이론상 시각" 하나만
+ * AtomicLong에 두고 CAS로 갱신한다. 전역 잠금이 없고, 상태는 크기가 제한된 Caffeine 맵에 보관한다.
+ * 메트릭: market.ratelimit.requests{policy, result=allowed|rejected}, market.ratelimit.keys
+ */
+@Component
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimiter {
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final List<Policy> policies = new ArrayList<>();
+    private final Cache<String, AtomicLong> states;
+    private final boolean enabled;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.states = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumKeys())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+        for (Map.Entry<String, RateLimitProperties.Policy> entry : properties.getPolicies().entrySet()) {
+            policies.add(new Policy(entry.getKey(), entry.getValue(), meterRegistry));
+        }
+        meterRegistry.gauge("market.ratelimit.keys", states, Cache::estimatedSize);
+    }
+
+    public static final class Policy {
+        private final String name;
+        private final List<String> patterns;
+        private final long emissionIntervalNanos;  // 요청 하나가 차지하는 시간 = 1 / 초당 허용량
+        private final long burstToleranceNanos;    // 버킷 크기만큼 미리 당겨 쓸 수 있는 시간
+        private final Counter allowed;
+        private final Counter rejected;
+
+        Policy(String name, RateLimitProperties.Policy config, MeterRegistry meterRegistry) {
+            if (config.getCapacity() < 1 || config.getRefillPerSecond() <= 0) {
+                throw new IllegalArgumentException("잘못된 요청 제한 정책입니다: " + name);
+            }
+            this.name = name;
+            this.patterns = List.copyOf(config.getPatterns());
+            this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / config.getRefillPerSecond());
+            this.burstToleranceNanos = emissionIntervalNanos * config.getCapacity();
+            this.allowed = meterRegistry.counter("market.ratelimit.requests", "policy", name, "result", "allowed");
+            this.rejected = meterRegistry.counter("market.ratelimit.requests", "policy", name, "result", "rejected");
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    // 요청 경로에 처음 일치하는 정책. 없으면 제한하지 않는다
+    public Policy match(HttpServletRequest request) {
+        if (!enabled) {
+            return null;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Policy policy : policies) {
+            for (String pattern : policy.patterns) {
+                if (pathMatcher.match(pattern, path)) {
+                    return policy;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 허용되면 0, 거절되면 다음 요청이 허용될 때까지 기다려야 하는 나노초를 반환한다.
+     */
+    public long tryAcquire(Policy policy, String clientKey) {
+        return tryAcquire(policy, clientKey, System.nanoTime());
+    }
+
+    long tryAcquire(Policy policy, String clientKey, long now) {
+        AtomicLong state = states.get(policy.name + '|' + clientKey, key -> new AtomicLong(now));
+        while (true) {
+            long theoreticalArrival = state.get();
+            long next = Math.max(theoreticalArrival, now) + policy.emissionIntervalNanos;
+            long allowAt = next - policy.burstToleranceNanos;
+            if (allowAt > now) {
+                policy.rejected.increment();
+                return allowAt - now;
+            }
+            if (state.compareAndSet(theoreticalArrival, next)) {
+                policy.allowed.increment();
+                return 0;
+            }
+        }
+    }
+}
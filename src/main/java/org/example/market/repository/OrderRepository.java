@@ -1,15 +1,113 @@
 package org.example.market.repository;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.example.market.controller.dto.OrderExportRow;
+import org.example.market.controller.dto.OrderResponse;
 import org.example.market.domain.Member;
 import org.example.market.domain.Orders;
+import org.example.market.domain.Orders.OrderStatus;
 import org.example.market.domain.Product;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Orders, Long> {
     List<Orders> findByBuyer(Member buyer);
     List<Orders> findByProduct(Product product);
+
+    // 주문 목록은 엔티티 대신 상품명까지 조인한 DTO로 한 번에 조회한다 (product, buyer, seller 추가 조회 없음)
+    @Query("select new org.example.market.controller.dto.OrderResponse(o.id, coalesce(p.name, '존재하지 않는 상품'), o.totalPrice, o.status, o.quantity) " +
+            "from Orders o left join o.product p where o.buyer.id = :buyerId order by o.id")
+    List<OrderResponse> findResponsesByBuyerId(@Param("buyerId") Long buyerId);
+
+    // 만료로 취소된 예약은 판매자 목록에서 뺀다
+    @Query("select new org.example.market.controller.dto.OrderResponse(o.id, o.totalPrice, o.quantity) " +
+            "from Orders o where o.product.id = :productId " +
+            "and o.status <> org.example.market.domain.Orders.OrderStatus.CANCELED order by o.id")
+    List<OrderResponse> findResponsesByProductId(@Param("productId") Long productId);
+
+    // 내보내기: 결과를 List로 모으지 않고 JDBC 커서로 fetch size만큼씩 읽는다. DTO라 영속성 컨텍스트에도 쌓이지 않는다
+    // MySQL은 URL의 useCursorFetch=true가 있어야 fetch size 단위로 가져온다
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new org.example.market.controller.dto.OrderExportRow(o.id, p.id, p.name, o.buyer.id, o.status, o.quantity, o.totalPrice, o.createdDate) " +
+            "from Orders o join o.product p where p.seller.id = :sellerId and (:productId is null or p.id = :productId) order by o.id")
+    Stream<OrderExportRow> streamExportBySellerId(@Param("sellerId") Long sellerId, @Param("productId") Long productId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new org.example.market.controller.dto.OrderExportRow(o.id, p.id, p.name, o.buyer.id, o.status, o.quantity, o.totalPrice, o.createdDate) " +
+            "from Orders o left join o.product p order by o.id")
+    Stream<OrderExportRow> streamExportAll();
+
+    @Query("select coalesce(sum(o.quantity), 0) from Orders o where o.product.id = :productId and o.status = :status")
+    long sumQuantityByProductIdAndStatus(@Param("productId") Long productId, @Param("status") OrderStatus status);
+
+    @Query("select o.id as id, o.product.id as productId, o.quantity as quantity from Orders o where o.stockSynced = false order by o.id")
+    List<UnsyncedStock> findUnsyncedStock(Pageable pageable);
+
+    @Modifying
+    @Query("update Orders o set o.stockSynced = true, o.version = o.version + 1 where o.id in :ids")
+    int markStockSynced(@Param("ids") Collection<Long> ids);
+
+    // 만료된 예약을 오래된 순으로 잠그며 읽는다. 다른 노드가 잠근 행은 건너뛰어(SKIP LOCKED) 노드마다 다른 행을 처리한다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))  // LockOptions.SKIP_LOCKED
+    @Query("select o.id as id, o.product.id as productId, o.buyer.id as buyerId, o.quantity as quantity, " +
+            "o.totalPrice as totalPrice from Orders o where o.status = org.example.market.domain.Orders.OrderStatus.RESERVED and o.createdDate < :cutoff " +
+            "order by o.createdDate, o.id")
+    List<ExpiredReservation> findExpiredReservations(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    // 승인과 겹치면 버전이 바뀌어 승인 쪽이 충돌로 실패하고, 다시 읽으면 취소된 주문으로 보인다
+    @Modifying
+    @Query("update Orders o set o.status = org.example.market.domain.Orders.OrderStatus.CANCELED, " +
+            "o.version = o.version + 1, o.lastModifiedDate = :now " +
+            "where o.id in :ids and o.status = org.example.market.domain.Orders.OrderStatus.RESERVED")
+    int cancelReservations(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // 판매 집계 재계산용: 상품, 상태별 주문 건수와 수량, 금액
+    @Query("select o.product.id as productId, o.status as status, count(o) as orders, " +
+            "sum(o.quantity) as quantity, sum(o.totalPrice) as totalPrice " +
+            "from Orders o where o.product.id in :productIds group by o.product.id, o.status")
+    List<SalesAggregate> aggregateSalesByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    interface SalesAggregate {
+        Long getProductId();
+        Orders.OrderStatus getStatus();
+        Long getOrders();
+        Long getQuantity();
+        Long getTotalPrice();
+    }
+
+    interface ExpiredReservation {
+        Long getId();
+        Long getProductId();
+        Long getBuyerId();
+        Long getQuantity();
+        Long getTotalPrice();
+    }
+
+    interface UnsyncedStock {
+        Long getId();
+        Long getProductId();
+        Long getQuantity();
+    }
 }
@@ -0,0 +1,22 @@
+package org.example.market.repository;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.example.market.domain.OutboxCheckpoint;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface OutboxCheckpointRepository extends JpaRepository<OutboxCheckpoint, String> {
+
+    // 다른 노드의 릴레이가 잠그고 있으면 기다리지 않고 빈 값을 돌려준다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = SpecHints.HINT_SPEC_LOCK_TIMEOUT, value = "-2"))  // LockOptions.SKIP_LOCKED
+    @Query("select c from OutboxCheckpoint c where c.name = :name")
+    Optional<OutboxCheckpoint> findForUpdate(@Param("name") String name);
+}
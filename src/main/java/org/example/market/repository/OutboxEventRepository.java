@@ -0,0 +1,29 @@
+package org.example.market.repository;
+
+import org.example.market.domain.OutboxEvent;
+import org.example.market.outbox.OutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // 아직 전달하지 않은 이벤트를 id 순서로 읽는다. 먼저 id를 받고 늦게 커밋된 이벤트는 커밋된 뒤 다음 배치에서 읽힌다
+    @Query("select new org.example.market.outbox.OutboxMessage(e.id, e.aggregateType, e.aggregateId, e.eventType, e.payload, e.createdAt) " +
+            "from OutboxEvent e where e.publishedAt is null order by e.id")
+    List<OutboxMessage> findUnpublished(Pageable pageable);
+
+    @Modifying
+    @Query("update OutboxEvent e set e.publishedAt = :now where e.id in :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    // 전달을 마치고 보관 기간이 지난 이벤트
+    @Query("select e.id from OutboxEvent e where e.publishedAt < :cutoff order by e.publishedAt, e.id")
+    List<Long> findPublishedIdsBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+}
@@ -1,12 +1,87 @@
 package org.example.market.repository;
 
+import org.example.market.controller.dto.ProductResponse;
 import org.example.market.domain.Member;
+import org.example.market.domain.Orders.OrderStatus;
 import org.example.market.domain.Product;
+import org.example.market.domain.Product.ProductStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ProductRepository extends JpaRepository<Product,Long> {
     List<Product> findByStatus(Product.ProductStatus status);
     List<Product> findBySeller(Member seller);
+
+    // 장바구니 주문은 상품과 판매자를 IN 쿼리 한 번으로 가져온다
+    @Query("select p from Product p join fetch p.seller where p.id in :ids order by p.id")
+    List<Product> findAllWithSellerByIdIn(@Param("ids") Collection<Long> ids);
+
+    // 목록 조회는 엔티티 대신 필요한 컬럼만 id 커서 기준으로 가져온다 (offset 없이 PK 범위 탐색)
+    @Query("select new org.example.market.controller.dto.ProductResponse(p.id, p.name, p.price, p.status, p.stock) " +
+            "from Product p where p.id > :cursor order by p.id")
+    Slice<ProductResponse> findPageAfter(@Param("cursor") Long cursor, Pageable pageable);
+
+    @Query("select new org.example.market.controller.dto.ProductResponse(p.id, p.name, p.price, p.status, p.stock) " +
+            "from Product p where p.status = :status and p.id > :cursor order by p.id")
+    Slice<ProductResponse> findPageByStatusAfter(@Param("status") ProductStatus status, @Param("cursor") Long cursor, Pageable pageable);
+
+    @Query("select new org.example.market.controller.dto.ProductResponse(p.id, p.name, p.price, p.status, p.stock) " +
+            "from Product p where p.id = :id")
+    Optional<ProductResponse> findResponseById(@Param("id") Long id);
+
+    // 재고가 충분할 때만 차감하고, 재고가 0이 되면 같은 문장에서 품절 처리한다. 반환값이 0이면 재고 부족
+    // 판매 승인과 재고 원장의 판매 수량 일괄 반영에서 함께 쓴다
+    // MySQL은 SET 절을 왼쪽부터 평가하므로 status를 stock보다 먼저 갱신해야 차감 전 재고로 비교된다
+    @Modifying
+    @Query("update Product p " +
+            "set p.status = case when p.stock = :quantity then :soldOut else p.status end, " +
+            "p.stock = p.stock - :quantity, p.version = p.version + 1 " +
+            "where p.id = :id and p.stock >= :quantity")
+    int decreaseStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("soldOut") ProductStatus soldOut);
+
+    default int decreaseStock(Long id, int quantity) {
+        return decreaseStock(id, quantity, ProductStatus.SOLD_OUT);
+    }
+
+    // 판매 수량보다 재고가 적을 때(반영 전에 판매자가 재고를 줄인 경우) 음수 대신 0으로 맞추고 품절 처리한다
+    @Modifying
+    @Query("update Product p set p.status = :soldOut, p.stock = 0, p.version = p.version + 1 " +
+            "where p.id = :id and p.stock < :quantity")
+    int clearStock(@Param("id") Long id, @Param("quantity") int quantity, @Param("soldOut") ProductStatus soldOut);
+
+    // 재고 원장 적재용. 재고, 아직 반영하지 않은 판매 수량, 예약으로 보류된 수량을 한 문장에서 읽는다
+    // 따로 읽으면 그 사이 커밋된 flush(재고 차감 + 반영 표시)가 한쪽에만 보여 가용 재고가 어긋난다
+    @Query("select p.stock as stock, " +
+            "(select coalesce(sum(o.quantity), 0) from Orders o where o.product.id = p.id and o.stockSynced = false) as unsynced, " +
+            "(select coalesce(sum(o.quantity), 0) from Orders o where o.product.id = p.id and o.status = :reserved) as held " +
+            "from Product p where p.id = :id")
+    Optional<LedgerStock> findLedgerStockById(@Param("id") Long id, @Param("reserved") OrderStatus reserved);
+
+    default Optional<LedgerStock> findLedgerStockById(Long id) {
+        return findLedgerStockById(id, OrderStatus.RESERVED);
+    }
+
+    // 재고/상태 구독 알림용. 판매자는 조인 없이 외래 키만 읽는다
+    @Query("select p.seller.id as sellerId, p.stock as stock, p.status as status from Product p where p.id = :id")
+    Optional<StockState> findStockStateById(@Param("id") Long id);
+
+    interface LedgerStock {
+        int getStock();
+        long getUnsynced();
+        long getHeld();
+    }
+
+    interface StockState {
+        Long getSellerId();
+        int getStock();
+        ProductStatus getStatus();
+    }
 }
@@ -0,0 +1,55 @@
+package org.example.market.repository;
+
+import jakarta.persistence.LockModeType;
+import org.example.market.controller.dto.ProductSalesResponse;
+import org.example.market.domain.ProductSales;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductSalesRepository extends JpaRepository<ProductSales, Long> {
+
+    // 집계 행을 읽지 않고 DB에서 바로 증감한다. 집계 도입 전에 등록되어 행이 없는 상품이면 같은 문장에서 만든다
+    // 첫 예약/승인이 동시에 들어와도 중복 키 오류 없이 한쪽의 증감으로 합쳐진다. 이전 주문은 rebuild에서 반영된다
+    // H2는 MODE=MySQL에서 같은 문법을 받는다
+    @Modifying
+    @Query(value = "insert into product_sales (product_id, reserved_count, reserved_quantity, sold_count, sold_quantity, revenue) " +
+            "values (:productId, :orders, :quantity, 0, 0, 0) " +
+            "on duplicate key update reserved_count = reserved_count + :orders, reserved_quantity = reserved_quantity + :quantity",
+            nativeQuery = true)
+    int addReservation(@Param("productId") Long productId, @Param("orders") long orders, @Param("quantity") long quantity);
+
+    @Modifying
+    @Query(value = "insert into product_sales (product_id, reserved_count, reserved_quantity, sold_count, sold_quantity, revenue) " +
+            "values (:productId, 0, 0, 1, :quantity, :totalPrice) " +
+            "on duplicate key update reserved_count = reserved_count - 1, reserved_quantity = reserved_quantity - :quantity, " +
+            "sold_count = sold_count + 1, sold_quantity = sold_quantity + :quantity, revenue = revenue + :totalPrice",
+            nativeQuery = true)
+    int addSale(@Param("productId") Long productId, @Param("quantity") long quantity, @Param("totalPrice") long totalPrice);
+
+    @Modifying
+    @Query("update ProductSales s set s.reservedCount = s.reservedCount - :orders, " +
+            "s.reservedQuantity = s.reservedQuantity - :quantity where s.productId = :productId")
+    int cancelReservations(@Param("productId") Long productId, @Param("orders") long orders, @Param("quantity") long quantity);
+
+    // 재계산 중에는 집계 행을 잠가 동시에 들어온 증감이 재계산 결과 위에 적용되게 한다
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from ProductSales s where s.productId in :productIds")
+    List<ProductSales> findAllForUpdate(@Param("productIds") Collection<Long> productIds);
+
+    @Query("select new org.example.market.controller.dto.ProductSalesResponse(p.id, p.name, s.reservedCount, s.reservedQuantity, " +
+            "s.soldCount, s.soldQuantity, s.revenue) " +
+            "from ProductSales s join Product p on p.id = s.productId where p.seller.id = :sellerId order by p.id")
+    List<ProductSalesResponse> findResponsesBySellerId(@Param("sellerId") Long sellerId);
+
+    @Query("select new org.example.market.controller.dto.ProductSalesResponse(p.id, p.name, s.reservedCount, s.reservedQuantity, " +
+            "s.soldCount, s.soldQuantity, s.revenue) " +
+            "from ProductSales s join Product p on p.id = s.productId where p.id = :productId and p.seller.id = :sellerId")
+    Optional<ProductSalesResponse> findResponseByIdAndSellerId(@Param("productId") Long productId, @Param("sellerId") Long sellerId);
+}
@@ -0,0 +1,26 @@
+package org.example.market.retry;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 낙관적 잠금 충돌(OptimisticLockingFailureException)이 나면 메서드를 새 트랜잭션으로 다시 실행한다.
+ * 재시도할 때 상태를 다시 읽어야 의미가 있으므로, 엔티티를 인자로 받지 말고 id로 받아 메서드 안에서 조회한다.
+ * 이미 진행 중인 트랜잭션 안에서 호출되면 바깥 트랜잭션이 롤백 전용이 되므로 재시도하지 않는다.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+    // 메트릭 operation 태그. 비어 있으면 클래스명.메서드명
+    String value() default "";
+
+    // 처음 실행을 포함한 최대 실행 횟수
+    int maxAttempts() default 3;
+
+    // n번째 재시도 전 대기 상한은 min(initialBackoffMs * 2^(n-1), maxBackoffMs)이고, 그 절반~상한에서 무작위로 고른다
+    long initialBackoffMs() default 10;
+
+    long maxBackoffMs() default 200;
+}
@@ -0,0 +1,133 @@
+package org.example.market.retry;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * @RetryOnConflict 처리. 트랜잭션 어드바이스보다 바깥에서 실행되어야 매 시도가 새 트랜잭션이 된다.
+ * 메트릭
+ * - market.conflict.detected{operation, entity}: 충돌 횟수
+ * - market.conflict.outcome{operation, result=recovered|exhausted}: 재시도로 성공했는지, 횟수를 다 쓰고 실패했는지
+ * - market.conflict.hot{entity, id}: 최근 충돌이 많은 엔티티 상위 HOT_TOP개 (상품 id별 경합 확인용, 태그 수가 고정되도록 상위만 내보낸다)
+ */
+@Slf4j
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class RetryOnConflictAspect {
+    static final String DETECTED = "market.conflict.detected";
+    static final String OUTCOME = "market.conflict.outcome";
+    static final String HOT = "market.conflict.hot";
+    private static final int HOT_TOP = 10;
+
+    private final MeterRegistry meterRegistry;
+    private final MultiGauge hot;
+
+    // "Product#42" -> 충돌 횟수. 한동안 충돌이 없던 항목은 버린다
+    private final Cache<String, LongAdder> conflictsByEntity = Caffeine.newBuilder()
+            .maximumSize(10_000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
+    public RetryOnConflictAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.hot = MultiGauge.builder(HOT)
+                .description("최근 1시간 낙관적 잠금 충돌이 많은 엔티티")
+                .register(meterRegistry);
+    }
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+
+        String operation = retryOnConflict.value().isEmpty()
+                ? joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName()
+                : retryOnConflict.value();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                Object result = joinPoint.proceed();
+                if (attempt > 1) {
+                    meterRegistry.counter(OUTCOME, "operation", operation, "result", "recovered").increment();
+                }
+                return result;
+            } catch (OptimisticLockingFailureException e) {
+                recordConflict(operation, e);
+                if (attempt >= retryOnConflict.maxAttempts()) {
+                    meterRegistry.counter(OUTCOME, "operation", operation, "result", "exhausted").increment();
+                    log.info("낙관적 잠금 충돌 재시도 실패: {} ({}회)", operation, attempt);
+                    throw e;
+                }
+                if (!sleep(backoff(attempt, retryOnConflict.initialBackoffMs(), retryOnConflict.maxBackoffMs()))) {
+                    throw e;
+                }
+            }
+        }
+    }
+
+    // 상한의 절반 이상은 기다려 동시에 충돌한 요청끼리 곧바로 다시 부딪히지 않게 하고, 나머지 절반은 무작위로 흩뜨린다
+    static long backoff(int attempt, long initialBackoffMs, long maxBackoffMs) {
+        long cap = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempt - 1, 20));
+        if (cap <= 0) {
+            return 0;
+        }
+        return ThreadLocalRandom.current().nextLong(cap / 2, cap + 1);
+    }
+
+    private static boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void recordConflict(String operation, OptimisticLockingFailureException e) {
+        String entity = "unknown";
+        if (e instanceof ObjectOptimisticLockingFailureException objectFailure && objectFailure.getPersistentClassName() != null) {
+            String className = objectFailure.getPersistentClassName();
+            entity = className.substring(className.lastIndexOf('.') + 1);
+            if (objectFailure.getIdentifier() != null) {
+                conflictsByEntity.get(entity + "#" + objectFailure.getIdentifier(), key -> new LongAdder()).increment();
+            }
+        }
+        meterRegistry.counter(DETECTED, "operation", operation, "entity", entity).increment();
+        log.debug("낙관적 잠금 충돌: {} {}", operation, e.getMessage());
+    }
+
+    @Scheduled(fixedDelayString = "${market.conflict.hot-refresh-ms:30000}")
+    public void refreshHot() {
+        hot.register(conflictsByEntity.asMap().entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, LongAdder> entry) -> entry.getValue().sum()).reversed())
+                .limit(HOT_TOP)
+                .map(entry -> {
+                    String[] key = entry.getKey().split("#", 2);
+                    long count = entry.getValue().sum();
+                    return MultiGauge.Row.of(Tags.of("entity", key[0], "id", key[1]), count);
+                })
+                .toList(), true);
+    }
+}
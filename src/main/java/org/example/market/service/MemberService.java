@@ -3,14 +3,12 @@ package org.example.market.service;
 import lombok.RequiredArgsConstructor;
 import org.example.market.controller.dto.RegisterRequest;
 import org.example.market.domain.Member;
+import org.example.market.jwt.MemberPrincipal;
 import org.example.market.repository.MemberRepository;
-import org.springframework.security.core.userdetails.User;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
 import java.util.Optional;
 
 @Service
@@ -19,7 +17,11 @@ public class MemberService implements UserDetailsService {
 
     private final MemberRepository memberRepository;
 
+    // username에는 유일 제약이 있다. 동시에 같은 아이디로 가입하면 제약 위반(DataIntegrityViolationException)으로 막힌다
     public Member save(RegisterRequest registerRequest) {
+        if (memberRepository.existsByUsername(registerRequest.getUsername())) {
+            throw new IllegalStateException("이미 사용 중인 아이디입니다.");
+        }
         return memberRepository.save(registerRequest.toEntity());
     }
 
@@ -27,9 +29,18 @@ public class MemberService implements UserDetailsService {
         return memberRepository.findByUsername(username);
     }
 
+    public Optional<Member> findById(Long id) {
+        return memberRepository.findById(id);
+    }
+
+    // 조회 없이 id만 가진 프록시를 돌려준다. 인증된 회원을 연관관계나 조회 조건에 넘길 때 사용
+    public Member getReference(Long id) {
+        return memberRepository.getReferenceById(id);
+    }
+
     @Override
-    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+    public MemberPrincipal loadUserByUsername(String username) throws UsernameNotFoundException {
         Member member = memberRepository.findByUsername(username).orElseThrow(() -> new UsernameNotFoundException("User not found"));
-        return new User(member.getUsername(), member.getPassword(), new ArrayList<>());
+        return MemberPrincipal.from(member);
     }
 }
@@ -0,0 +1,92 @@
+package org.example.market.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.example.market.controller.dto.FileFormat;
+import org.example.market.controller.dto.OrderExportRow;
+import org.example.market.repository.OrderRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 주문 내보내기. 커서로 읽은 행을 바로 응답 스트림에 써서 주문 수와 상관없이 힙 사용량이 일정하다.
+ * StreamingResponseBody가 요청 스레드 밖에서 호출하므로 트랜잭션(커넥션)은 이 메서드 안에서만 열려 있다.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class OrderExportService {
+    private static final String CSV_HEADER = "order_id,product_id,product_name,buyer_id,status,quantity,total_price,created_date";
+
+    private final OrderRepository orderRepository;
+    private final ObjectMapper objectMapper;
+
+    // 판매자 본인 상품의 주문. productId가 있으면 그 상품만
+    public long exportBySeller(Long sellerId, Long productId, FileFormat format, OutputStream out) throws IOException {
+        try (Stream<OrderExportRow> rows = orderRepository.streamExportBySellerId(sellerId, productId)) {
+            return write(rows, format, out);
+        }
+    }
+
+    public long exportAll(FileFormat format, OutputStream out) throws IOException {
+        try (Stream<OrderExportRow> rows = orderRepository.streamExportAll()) {
+            return write(rows, format, out);
+        }
+    }
+
+    long write(Stream<OrderExportRow> rows, FileFormat format, OutputStream out) throws IOException {
+        // out은 응답 스트림이라 닫지 않고 flush만 한다
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        if (format == FileFormat.CSV) {
+            writer.write('\uFEFF');  // 엑셀에서 UTF-8 한글이 깨지지 않도록 BOM
+            writer.write(CSV_HEADER);
+            writer.write('\n');
+        }
+
+        long count = 0;
+        Iterator<OrderExportRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            OrderExportRow row = iterator.next();
+            writer.write(format == FileFormat.CSV ? toCsv(row) : objectMapper.writeValueAsString(row));
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static String toCsv(OrderExportRow row) {
+        return String.join(",",
+                String.valueOf(row.getId()),
+                row.getProductId() == null ? "" : String.valueOf(row.getProductId()),
+                csvText(row.getProductName()),
+                String.valueOf(row.getBuyerId()),
+                row.getStatus() == null ? "" : row.getStatus().name(),
+                String.valueOf(row.getQuantity()),
+                String.valueOf(row.getTotalPrice()),
+                row.getCreatedDate() == null ? "" : row.getCreatedDate().toString());
+    }
+
+    // 쉼표, 따옴표, 줄바꿈은 따옴표로 감싸고, 수식으로 해석되는 첫 글자(=,+,-,@)는 앞에 '를 붙인다
+    static String csvText(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        if ("=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
@@ -1,39 +1,156 @@
 package org.example.market.service;
 
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.market.controller.dto.CheckoutLineError;
+import org.example.market.controller.dto.CheckoutRequest;
+import org.example.market.controller.dto.CheckoutResponse;
 import org.example.market.controller.dto.OrderResponse;
 import org.example.market.domain.Member;
 import org.example.market.domain.Orders;
 import org.example.market.domain.Product;
+import org.example.market.event.OrderCompletedEvent;
+import org.example.market.event.OrderReservedEvent;
+import org.example.market.event.ProductChangedEvent;
 import org.example.market.exception.*;
+import org.example.market.outbox.OrderOutbox;
 import org.example.market.repository.MemberRepository;
 import org.example.market.repository.OrderRepository;
 import org.example.market.repository.ProductRepository;
+import org.example.market.retry.RetryOnConflict;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.*;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class OrderService {
+    // 거절 사유별 카운터 market.order.rejections{reason=...}
+    static final String REJECTIONS = "market.order.rejections";
+    static final String INSUFFICIENT_STOCK = "insufficient_stock";
+    static final String PRICE_MISMATCH = "price_mismatch";
+    static final String SELF_PURCHASE = "self_purchase";
 
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Autowired(required = false)
+    private StockLedger stockLedger;
+
+    @Autowired(required = false)
+    private OrderOutbox orderOutbox;
 
     public Orders findById(Long id) {
         return orderRepository.findById(id).orElseThrow(()->new OrderNotFoundException("존재하지 않는 거래입니다."));
     }
 
+    @Timed(value = "market.order.reserve", histogram = true)
     @Transactional
     public void reserveProduct(Product product, Member buyer, Long price, Long quantity) {
+        validateReservation(product, buyer, price, quantity);
+
+        if (stockLedger != null && !stockLedger.tryReserve(product.getId(), quantity)) {
+            throw rejected(INSUFFICIENT_STOCK, new InsufficientStockException("재고가 부족합니다."));
+        }
+
+        Orders order = orderRepository.save(new Orders(product, buyer, Orders.OrderStatus.RESERVED,quantity,price*quantity));
+        eventPublisher.publishEvent(new OrderReservedEvent(product.getId(), 1L, quantity));
+        if (orderOutbox != null) {
+            orderOutbox.record(order);
+        }
+    }
+
+    // 장바구니의 여러 상품을 한 트랜잭션에서 예약한다. 한 줄이라도 실패하면 전체를 롤백하고 줄별 오류를 돌려준다
+    @Timed(value = "market.order.checkout", histogram = true)
+    @Transactional
+    public CheckoutResponse checkout(Member buyer, List<CheckoutRequest.Item> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("주문할 상품이 없습니다.");
+        }
 
+        Set<Long> productIds = new HashSet<>();
+        for (CheckoutRequest.Item item : items) {
+            if (item.getProductId() != null) {
+                productIds.add(item.getProductId());
+            }
+        }
+        Map<Long, Product> products = new HashMap<>();
+        for (Product product : productRepository.findAllWithSellerByIdIn(productIds)) {
+            products.put(product.getId(), product);
+        }
+
+        // 상품 id 순서로 처리해 재고 보류와 잠금 순서를 요청마다 같게 맞춘다
+        Integer[] lines = new Integer[items.size()];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = i;
+        }
+        Arrays.sort(lines, Comparator.comparing(i -> items.get(i).getProductId(), Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        Orders[] orders = new Orders[items.size()];
+        List<CheckoutLineError> errors = new ArrayList<>();
+        for (int line : lines) {
+            CheckoutRequest.Item item = items.get(line);
+            try {
+                orders[line] = reserveLine(products.get(item.getProductId()), buyer, item);
+            } catch (UnauthorizedException | InsufficientStockException | ProductNotFoundException
+                     | IllegalStateException | IllegalArgumentException e) {
+                errors.add(new CheckoutLineError(line, item.getProductId(), e.getMessage()));
+            }
+        }
+
+        if (!errors.isEmpty()) {
+            errors.sort(Comparator.comparingInt(CheckoutLineError::getLine));
+            throw new CheckoutFailedException(errors);  // 롤백 시 재고 원장 보류분도 함께 풀린다
+        }
+
+        List<Orders> saved = orderRepository.saveAll(Arrays.asList(orders));
+        // 구독자가 같은 트랜잭션에서 상품별 집계 행을 잠그므로 상품마다 한 번씩, 상품 id 순서로 발행한다
+        Map<Long, long[]> reserved = new TreeMap<>();
+        for (Orders order : saved) {
+            long[] total = reserved.computeIfAbsent(order.getProduct().getId(), id -> new long[2]);
+            total[0]++;
+            total[1] += order.getQuantity();
+            if (orderOutbox != null) {
+                orderOutbox.record(order);
+            }
+        }
+        reserved.forEach((productId, total) ->
+                eventPublisher.publishEvent(new OrderReservedEvent(productId, total[0], total[1])));
+        List<Long> orderIds = new ArrayList<>(saved.size());
+        long totalPrice = 0;
+        for (Orders order : saved) {
+            orderIds.add(order.getId());
+            totalPrice += order.getTotalPrice();
+        }
+        return new CheckoutResponse(orderIds, totalPrice);
+    }
+
+    private Orders reserveLine(Product product, Member buyer, CheckoutRequest.Item item) {
+        if (item.getProductId() == null || item.getPrice() == null || item.getQuantity() == null || item.getQuantity() <= 0) {
+            throw new IllegalArgumentException("상품, 수량, 가격을 올바르게 입력해주세요.");
+        }
+        if (product == null) {
+            throw new ProductNotFoundException("존재하지 않는 상품입니다.");
+        }
+        validateReservation(product, buyer, item.getPrice(), item.getQuantity());
+
+        if (stockLedger != null && !stockLedger.tryReserve(product.getId(), item.getQuantity())) {
+            throw rejected(INSUFFICIENT_STOCK, new InsufficientStockException("재고가 부족합니다."));
+        }
+        return new Orders(product, buyer, Orders.OrderStatus.RESERVED, item.getQuantity(), item.getPrice() * item.getQuantity());
+    }
+
+    private void validateReservation(Product product, Member buyer, Long price, Long quantity) {
         if (product.getSeller().equals(buyer)) {
-            throw new UnauthorizedException("판매자가 본인의 제품을 구매할 수 없습니다.");
+            throw rejected(SELF_PURCHASE, new UnauthorizedException("판매자가 본인의 제품을 구매할 수 없습니다."));
         }
 
         if (product.getStatus() != Product.ProductStatus.FOR_SALE) {
@@ -41,14 +158,26 @@ public class OrderService {
         }
 
         if (!Objects.equals(product.getPrice()*quantity, price*quantity)) {
-            throw new IllegalArgumentException("제시한 가격이 일치하지 않습니다.");
+            throw rejected(PRICE_MISMATCH, new IllegalArgumentException("제시한 가격이 일치하지 않습니다."));
         }
+    }
 
-        orderRepository.save(new Orders(product, buyer, Orders.OrderStatus.RESERVED,quantity,price*quantity));
+    // 판매 승인. 같은 주문의 동시 승인이나 상품 수정과 충돌하면 주문과 상품을 다시 읽어 재시도한다
+    @RetryOnConflict("order.approve")
+    @Timed(value = "market.order.approve", histogram = true)
+    @Transactional
+    public Orders approveSale(Long orderId, Member seller) {
+        Orders orders = findById(orderId);
+        approveSale(orders, seller);
+        return orders;
     }
 
     @Transactional
     public void approveSale(Orders orders, Member seller) {
+        // 재시도 시 먼저 커밋된 승인을 다시 적용하지 않도록 예약 상태에서만 승인한다
+        if (orders.getStatus() != Orders.OrderStatus.RESERVED) {
+            throw new IllegalStateException("이미 처리된 주문입니다.");
+        }
         Product product = productRepository.findById(orders.getProduct().getId())
                 .orElseThrow(() -> new ProductNotFoundException("존재하지 않는 상품입니다."));
 
@@ -56,42 +185,40 @@ public class OrderService {
             throw new UnauthorizedException("판매자가 아닙니다.");
         }
 
-
-        if (product.getStock() < orders.getQuantity()) {
-            throw new InsufficientStockException("재고가 부족합니다.");
+        if (stockLedger != null) {
+            // 예약 시 원장에서 보류한 수량을 확정하고, Product.stock 반영은 원장이 모아서 처리한다
+            stockLedger.confirm(product.getId(), orders.getQuantity());
+            orders.markStockUnsynced();
+        } else {
+            // 재고 확인과 차감을 조건부 UPDATE 한 번으로 처리해 동시 승인 시 초과 판매를 막는다
+            int updated = productRepository.decreaseStock(product.getId(), Math.toIntExact(orders.getQuantity()));
+            if (updated == 0) {
+                throw rejected(INSUFFICIENT_STOCK, new InsufficientStockException("재고가 부족합니다."));
+            }
+            eventPublisher.publishEvent(new ProductChangedEvent(product.getId()));
         }
 
-        if(orders.getQuantity() == product.getStock()) product.soldOut();
-
-        product.minusStock(orders.getQuantity());
         orders.setCompleted();
+        eventPublisher.publishEvent(new OrderCompletedEvent(product.getId(), orders.getQuantity(), orders.getTotalPrice()));
+        if (orderOutbox != null) {
+            orderOutbox.record(orders);
+        }
     }
 
-    public List<OrderResponse> getOrdersByMember(Member member) {
+    private <T extends RuntimeException> T rejected(String reason, T exception) {
+        meterRegistry.counter(REJECTIONS, "reason", reason).increment();
+        return exception;
+    }
 
-        List<Orders> orders = orderRepository.findByBuyer(member);
-
-        return orders.stream().map(order -> {
-            Product product = order.getProduct();
-            String productName = (product != null) ? product.getName() : "존재하지 않는 상품";
-            return new OrderResponse(
-                    order.getId(),
-                    productName,
-                    order.getTotalPrice(),
-                    order.getStatus(),
-                    order.getQuantity()
-            );
-        }).collect(Collectors.toList());
+    @Timed(value = "market.order.list.buyer", histogram = true)
+    @Transactional(readOnly = true)
+    public List<OrderResponse> getOrdersByMember(Member member) {
+        return orderRepository.findResponsesByBuyerId(member.getId());
     }
 
+    @Timed(value = "market.order.list.product", histogram = true)
+    @Transactional(readOnly = true)
     public List<OrderResponse> getOrdersByProduct(Product product) {
-        List<Orders> orders = orderRepository.findByProduct(product);
-        return orders.stream().map(order ->
-                new OrderResponse(
-                        order.getId(),
-                        order.getTotalPrice(),
-                        order.getQuantity()
-                )
-        ).collect(Collectors.toList());
+        return orderRepository.findResponsesByProductId(product.getId());
     }
 }
@@ -0,0 +1,68 @@
+package org.example.market.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.market.controller.dto.ProductDetailResponse;
+import org.example.market.event.ProductChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * 상품 상세 응답 캐시. 상품이 바뀌면 트랜잭션 커밋 이후에만 무효화해 롤백된 값이 보이지 않게 한다.
+ * 적중률, 제거 수, 로딩 시간은 product.detail 캐시 메트릭으로 노출된다.
+ */
+@Component
+public class ProductDetailCache {
+    private final AsyncCache<Long, ProductDetailResponse> cache;
+
+    public ProductDetailCache(@Value("${market.product.detail-cache.maximum-size:10000}") long maximumSize,
+                              @Value("${market.product.detail-cache.ttl:30s}") Duration ttl,
+                              MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "product.detail");
+    }
+
+    // 캐시에 없으면 loader로 읽어 저장한다. 존재하지 않는 상품(null)은 저장하지 않는다
+    // 동기 캐시는 해시 버킷 잠금(synchronized)을 잡은 채 loader를 실행해 가상 스레드가 DB 조회 동안 캐리어에 고정된다.
+    // 자리만 future로 먼저 잡고 조회는 잠금 밖에서 하며, 같은 상품을 동시에 요청한 스레드는 그 future를 기다린다
+    public Optional<ProductDetailResponse> get(Long productId, Function<Long, ProductDetailResponse> loader) {
+        CompletableFuture<ProductDetailResponse> loading = new CompletableFuture<>();
+        CompletableFuture<ProductDetailResponse> future = cache.get(productId, (id, executor) -> loading);
+        if (future == loading) {
+            try {
+                loading.complete(loader.apply(productId));
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return Optional.ofNullable(future.join());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    public void invalidate(Long productId) {
+        cache.synchronous().invalidate(productId);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        invalidate(event.productId());
+    }
+}
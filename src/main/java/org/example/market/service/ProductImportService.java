@@ -0,0 +1,321 @@
+package org.example.market.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.example.market.controller.dto.FileFormat;
+import org.example.market.controller.dto.ProductImportError;
+import org.example.market.controller.dto.ProductImportProgress;
+import org.example.market.controller.dto.ProductImportProgress.Status;
+import org.example.market.controller.dto.ProductRegisterRequest;
+import org.example.market.controller.dto.ProductResponse;
+import org.example.market.domain.Member;
+import org.example.market.domain.Product;
+import org.example.market.domain.Product.ProductStatus;
+import org.example.market.exception.BadRequestException;
+import org.example.market.repository.MemberRepository;
+import org.example.market.repository.ProductRepository;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.LineNumberReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 판매자 상품 일괄 등록. 업로드를 한 줄씩 읽어 batch-size개마다 한 트랜잭션에서 JDBC 배치로 INSERT하므로
+ * 파일 크기와 상관없이 메모리에는 한 배치만 올라간다. 잘못된 줄은 건너뛰고 줄 번호와 사유를 남긴다.
+ * 이미 커밋된 배치는 이후 배치가 실패해도 유지되며, 진행 상황은 작업 id로 조회한다.
+ */
+@Slf4j
+@Service
+public class ProductImportService {
+    private static final List<String> CSV_COLUMNS = List.of("name", "price", "stock");
+
+    private final ProductRepository productRepository;
+    private final MemberRepository memberRepository;
+    private final ProductSalesService productSalesService;
+    private final ProductSearchIndex productSearchIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final int maxErrors;
+
+    // 끝난 작업도 결과를 조회할 수 있게 잠시 보관한다
+    private final Cache<String, Job> jobs = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofHours(1))
+            .build();
+
+    public ProductImportService(ProductRepository productRepository,
+                                MemberRepository memberRepository,
+                                ProductSalesService productSalesService,
+                                ProductSearchIndex productSearchIndex,
+                                TransactionTemplate transactionTemplate,
+                                EntityManager entityManager,
+                                ObjectMapper objectMapper,
+                                @Value("${market.product.import.batch-size:500}") int batchSize,
+                                @Value("${market.product.import.max-errors:1000}") int maxErrors) {
+        this.productRepository = productRepository;
+        this.memberRepository = memberRepository;
+        this.productSalesService = productSalesService;
+        this.productSearchIndex = productSearchIndex;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.maxErrors = maxErrors;
+    }
+
+    private final class Job {
+        private final String id = UUID.randomUUID().toString();
+        private final Long sellerId;
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private final AtomicLong processed = new AtomicLong();
+        private final AtomicLong imported = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+        private final List<ProductImportError> errors = Collections.synchronizedList(new ArrayList<>());
+        private volatile Status status = Status.RUNNING;
+        private volatile String message;
+        private volatile LocalDateTime finishedAt;
+
+        private Job(Long sellerId) {
+            this.sellerId = sellerId;
+        }
+
+        private void reject(long line, String reason) {
+            failed.incrementAndGet();
+            if (errors.size() < maxErrors) {
+                errors.add(new ProductImportError(line, reason));
+            }
+        }
+
+        private void finish(Status status, String message) {
+            this.message = message;
+            this.finishedAt = LocalDateTime.now();
+            this.status = status;
+        }
+
+        private ProductImportProgress snapshot() {
+            List<ProductImportError> copy;
+            synchronized (errors) {
+                copy = List.copyOf(errors);
+            }
+            return new ProductImportProgress(id, status, processed.get(), imported.get(), failed.get(),
+                    copy, failed.get() > copy.size(), message, startedAt, finishedAt);
+        }
+    }
+
+    // 업로드가 끝날 때까지 요청 스레드에서 처리한다. 그동안 같은 판매자가 findBySeller로 진행 상황을 볼 수 있다
+    // CSV 헤더가 잘못되었으면 작업을 만들기 전에 BadRequestException을 던진다
+    public ProductImportProgress importProducts(Long sellerId, FileFormat format, InputStream in) {
+        LineNumberReader reader = new LineNumberReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        int[] columns = format == FileFormat.CSV ? readCsvHeader(reader) : null;  // CSV 헤더에서 찾은 name, price, stock 위치
+
+        Job job = new Job(sellerId);
+        jobs.put(job.id, job);
+        log.info("상품 일괄 등록 시작: job={}, seller={}, format={}", job.id, sellerId, format);
+
+        List<ProductRegisterRequest> batch = new ArrayList<>(batchSize);
+        try (reader) {
+            String line;
+            while ((line = readLine(reader)) != null) {
+                long lineNumber = reader.getLineNumber();
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                job.processed.incrementAndGet();
+                try {
+                    ProductRegisterRequest request = format == FileFormat.CSV ? csvRow(line, columns) : jsonRow(line);
+                    request.validate();
+                    batch.add(request);
+                } catch (IllegalArgumentException e) {
+                    job.reject(lineNumber, e.getMessage());
+                }
+
+                if (batch.size() >= batchSize) {
+                    insert(job, batch);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                insert(job, batch);
+            }
+            job.finish(Status.COMPLETED, null);
+        } catch (IOException | RuntimeException e) {
+            log.warn("상품 일괄 등록 중단: job={}, 등록 {}건", job.id, job.imported.get(), e);
+            job.finish(Status.FAILED, e.getMessage());
+        }
+        log.info("상품 일괄 등록 종료: job={}, status={}, 등록 {}건, 실패 {}건", job.id, job.status, job.imported.get(), job.failed.get());
+        return job.snapshot();
+    }
+
+    // 첫 줄의 UTF-8 BOM(엑셀에서 저장한 파일)은 떼어 낸다
+    private static String readLine(LineNumberReader reader) throws IOException {
+        String line = reader.readLine();
+        if (line != null && reader.getLineNumber() == 1 && line.startsWith("\uFEFF")) {
+            line = line.substring(1);
+        }
+        return line;
+    }
+
+    private static int[] readCsvHeader(LineNumberReader reader) {
+        try {
+            String line;
+            while ((line = readLine(reader)) != null) {
+                if (!line.isBlank()) {
+                    return csvHeader(line);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        throw new BadRequestException("CSV 헤더(" + String.join(",", CSV_COLUMNS) + ")가 없습니다.");
+    }
+
+    public Optional<ProductImportProgress> findById(String jobId, Long sellerId) {
+        return Optional.ofNullable(jobs.getIfPresent(jobId))
+                .filter(job -> job.sellerId.equals(sellerId))
+                .map(Job::snapshot);
+    }
+
+    // 최근 작업부터
+    public List<ProductImportProgress> findBySeller(Long sellerId) {
+        return jobs.asMap().values().stream()
+                .filter(job -> job.sellerId.equals(sellerId))
+                .sorted(Comparator.comparing((Job job) -> job.startedAt).reversed())
+                .map(Job::snapshot)
+                .toList();
+    }
+
+    // 배치 하나를 한 트랜잭션에서 INSERT한다. 시퀀스 id라 persist가 JDBC 배치로 묶인다
+    private void insert(Job job, List<ProductRegisterRequest> rows) {
+        List<ProductResponse> inserted = transactionTemplate.execute(status -> {
+            // open-in-view로 요청 전체가 같은 세션을 쓰므로 배치 크기를 바꿨다가 되돌린다
+            Session session = entityManager.unwrap(Session.class);
+            Integer previousBatchSize = session.getJdbcBatchSize();
+            session.setJdbcBatchSize(batchSize);
+            try {
+                Member seller = memberRepository.getReferenceById(job.sellerId);
+                List<Product> products = new ArrayList<>(rows.size());
+                for (ProductRegisterRequest row : rows) {
+                    row.setSeller(seller);
+                    row.setStatus(ProductStatus.FOR_SALE);
+                    products.add(row.toEntity());
+                }
+                productRepository.saveAll(products);
+                productSalesService.registerAll(products.stream().map(Product::getId).toList());
+                entityManager.flush();
+                entityManager.clear();  // 배치마다 영속성 컨텍스트를 비워 엔티티가 쌓이지 않게 한다
+                return products.stream()
+                        .map(p -> new ProductResponse(p.getId(), p.getName(), p.getPrice(), p.getStatus(), p.getStock()))
+                        .toList();
+            } finally {
+                session.setJdbcBatchSize(previousBatchSize);
+            }
+        });
+        // 상품마다 ProductChangedEvent를 발행하면 색인이 상품을 한 건씩 다시 조회하므로 커밋 후 직접 넣는다
+        inserted.forEach(productSearchIndex::put);
+        job.imported.addAndGet(inserted.size());
+    }
+
+    private ProductRegisterRequest jsonRow(String line) {
+        try {
+            ProductRegisterRequest request = objectMapper.readValue(line, ProductRegisterRequest.class);
+            if (request == null) {
+                throw new IllegalArgumentException("JSON 객체가 아닙니다.");
+            }
+            return request;
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON 형식이 잘못되었습니다: " + e.getOriginalMessage());
+        }
+    }
+
+    private static int[] csvHeader(String line) {
+        List<String> header;
+        try {
+            header = parseCsvLine(line).stream()
+                    .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                    .toList();
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("CSV 헤더 형식이 잘못되었습니다: " + e.getMessage());
+        }
+        int[] columns = new int[CSV_COLUMNS.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = header.indexOf(CSV_COLUMNS.get(i));
+            if (columns[i] < 0) {
+                throw new BadRequestException("CSV 헤더에 " + CSV_COLUMNS.get(i) + " 열이 없습니다.");
+            }
+        }
+        return columns;
+    }
+
+    private static ProductRegisterRequest csvRow(String line, int[] columns) {
+        List<String> fields = parseCsvLine(line);
+        ProductRegisterRequest request = new ProductRegisterRequest();
+        request.setName(field(fields, columns[0]));
+        request.setPrice(number(field(fields, columns[1]), "price"));
+        request.setStock(number(field(fields, columns[2]), "stock"));
+        return request;
+    }
+
+    private static String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index) : null;
+    }
+
+    private static Long number(String value, String column) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " 값이 숫자가 아닙니다: " + value);
+        }
+    }
+
+    // 한 줄짜리 CSV 레코드. 따옴표 안의 쉼표와 "" 이스케이프를 처리하고, 줄바꿈이 든 필드는 지원하지 않는다
+    static List<String> parseCsvLine(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("따옴표가 닫히지 않았습니다.");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
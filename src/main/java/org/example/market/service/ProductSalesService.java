@@ -0,0 +1,138 @@
+package org.example.market.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.market.controller.dto.ProductResponse;
+import org.example.market.controller.dto.ProductSalesResponse;
+import org.example.market.domain.Orders;
+import org.example.market.domain.ProductSales;
+import org.example.market.event.OrderCompletedEvent;
+import org.example.market.event.OrderReservedEvent;
+import org.example.market.event.ReservationsCanceledEvent;
+import org.example.market.repository.OrderRepository;
+import org.example.market.repository.OrderRepository.SalesAggregate;
+import org.example.market.repository.ProductRepository;
+import org.example.market.repository.ProductSalesRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+
+/**
+ * 상품별 판매 집계(ProductSales) 관리. 예약/승인/만료 취소 이벤트를 발행한 트랜잭션 안에서 증감하므로 주문과 집계가 함께 커밋되거나 롤백된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ProductSalesService {
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final ProductSalesRepository productSalesRepository;
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Transactional
+    public void register(Long productId) {
+        productSalesRepository.save(new ProductSales(productId));
+    }
+
+    // 일괄 등록: 같은 트랜잭션의 JDBC 배치로 INSERT된다
+    @Transactional
+    public void registerAll(Collection<Long> productIds) {
+        productSalesRepository.saveAll(productIds.stream().map(ProductSales::new).toList());
+    }
+
+    @Transactional
+    public void unregister(Long productId) {
+        productSalesRepository.deleteById(productId);
+    }
+
+    @EventListener
+    @Transactional
+    public void onOrderReserved(OrderReservedEvent event) {
+        productSalesRepository.addReservation(event.productId(), event.orders(), event.quantity());
+    }
+
+    @EventListener
+    @Transactional
+    public void onOrderCompleted(OrderCompletedEvent event) {
+        productSalesRepository.addSale(event.productId(), event.quantity(), event.totalPrice());
+    }
+
+    @EventListener
+    @Transactional
+    public void onReservationsCanceled(ReservationsCanceledEvent event) {
+        productSalesRepository.cancelReservations(event.productId(), event.orders(), event.quantity());
+    }
+
+    public List<ProductSalesResponse> findBySeller(Long sellerId) {
+        return productSalesRepository.findResponsesBySellerId(sellerId);
+    }
+
+    public Optional<ProductSalesResponse> findByProduct(Long productId, Long sellerId) {
+        return productSalesRepository.findResponseByIdAndSellerId(productId, sellerId);
+    }
+
+    // Orders에서 전체 상품의 집계를 다시 계산한다. 상품 id 순으로 배치마다 별도 트랜잭션에서 처리한다
+    @Scheduled(cron = "${market.product.sales.rebuild-cron:0 0 4 * * *}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int rebuild() {
+        int rebuilt = 0;
+        long cursor = 0L;
+        Slice<ProductResponse> page;
+        do {
+            page = productRepository.findPageAfter(cursor, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            List<Long> productIds = page.getContent().stream().map(ProductResponse::getId).toList();
+            if (productIds.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> rebuild(productIds));
+            rebuilt += productIds.size();
+            cursor = productIds.get(productIds.size() - 1);
+        } while (page.hasNext());
+        log.info("상품 판매 집계 재계산: 상품 {}개", rebuilt);
+        return rebuilt;
+    }
+
+    // 집계 행을 먼저 잠근 뒤 주문을 읽는다. 잠금 대기 중이던 예약/승인의 증감은 재계산 결과 위에 더해진다
+    private void rebuild(List<Long> productIds) {
+        Map<Long, ProductSales> sales = new HashMap<>();
+        for (ProductSales row : productSalesRepository.findAllForUpdate(productIds)) {
+            sales.put(row.getProductId(), row);
+        }
+
+        Map<Long, long[]> totals = new HashMap<>();
+        for (SalesAggregate aggregate : orderRepository.aggregateSalesByProductIds(productIds)) {
+            long[] total = totals.computeIfAbsent(aggregate.getProductId(), id -> new long[5]);
+            if (aggregate.getStatus() == Orders.OrderStatus.RESERVED) {
+                total[0] += aggregate.getOrders();
+                total[1] += aggregate.getQuantity();
+            } else if (aggregate.getStatus() == Orders.OrderStatus.COMPLETED) {
+                total[2] += aggregate.getOrders();
+                total[3] += aggregate.getQuantity();
+                total[4] += aggregate.getTotalPrice();
+            }
+        }
+
+        for (Long productId : productIds) {
+            long[] total = totals.getOrDefault(productId, new long[5]);
+            ProductSales row = sales.get(productId);
+            if (row == null) {
+                row = productSalesRepository.save(new ProductSales(productId));
+            }
+            row.reset(total[0], total[1], total[2], total[3], total[4]);
+        }
+    }
+}
@@ -0,0 +1,436 @@
+package org.example.market.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.market.controller.dto.ProductResponse;
+import org.example.market.domain.Product.ProductStatus;
+import org.example.market.event.ProductChangedEvent;
+import org.example.market.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 상품명 검색용 메모리 역색인.
+ * 상품명을 단어로 나눠 단어 색인(접두어 검색)과 단어의 두 번째 글자부터 시작하는 접미어 색인(부분 일치, 예: "무선이어폰"에서 "이어폰")에 넣는다.
+ * 두 색인 모두 정렬된 ConcurrentSkipListMap이라 접두어 검색은 키 범위 탐색 한 번이다.
+ * 기동 시 전체 상품으로 만들고, 이후에는 ProductChangedEvent를 받아 바뀐 상품만 다시 색인한다.
+ * <p>
+ * 점수: 질의 단어마다 단어 일치 3, 단어 접두어 2, 단어 중간 일치 1을 더하고, 모든 질의 단어가 일치한 상품만 결과에 포함한다.
+ * 점수가 같으면 이름이 짧은 상품, 그다음 최근 등록(id 큰) 상품 순이다.
+ * 색인 항목은 이 동점 순서로 정렬해 두므로 질의 단어가 하나면 점수 구간(일치, 접두어, 중간 일치) 순으로 앞에서부터 필요한 만큼만 읽는다.
+ * 질의 단어가 여럿이면 일치 상품이 가장 적은 단어의 후보만 읽고 나머지 단어는 후보의 단어 목록으로 확인한 뒤(교집합) 점수를 매긴다.
+ * 순위가 정해진 결과는 max-results개까지만 페이지로 나눠 준다.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int INFIX = 1;
+    private static final int BUILD_BATCH_SIZE = 1000;
+    private static final int ID_BITS = 43;
+    private static final long MAX_ID = (1L << ID_BITS) - 1;
+    private static final int MAX_NAME_LENGTH = (1 << (63 - ID_BITS)) - 1;
+
+    private final ProductRepository productRepository;
+    private final int maxResults;
+
+    private final ConcurrentSkipListMap<String, Postings> words = new ConcurrentSkipListMap<>();
+    private final ConcurrentSkipListMap<String, Postings> suffixes = new ConcurrentSkipListMap<>();
+    private final Map<Long, Document> documents = new ConcurrentHashMap<>();
+
+    // 색인을 만드는 동안 변경 이벤트로 반영된 상품. 색인 생성 중 읽은 (더 오래된) 값으로 덮어쓰지 않는다
+    private volatile Set<Long> changedDuringBuild = ConcurrentHashMap.newKeySet();
+
+    private record Document(ProductResponse product, List<String> words) {
+    }
+
+    // 색인 항목은 (이름 길이, -id) 순으로 정렬되도록 한 long에 담는다. ConcurrentSkipListSet.size()는 전체를 세므로 개수를 따로 둔다
+    // 쓰기는 Postings 단위로 잠가 항목과 개수를 함께 바꾸고, 읽기는 잠그지 않는다
+    private static final class Postings {
+        private final ConcurrentSkipListSet<Long> entries = new ConcurrentSkipListSet<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        synchronized void add(long entry) {
+            if (entries.add(entry)) {
+                size.incrementAndGet();
+            }
+        }
+
+        synchronized void remove(long entry) {
+            if (entries.remove(entry)) {
+                size.decrementAndGet();
+            }
+        }
+    }
+
+    public ProductSearchIndex(ProductRepository productRepository,
+                              @Value("${market.product.search.max-results:2000}") int maxResults) {
+        this.productRepository = productRepository;
+        this.maxResults = maxResults;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long cursor = 0L;
+        Slice<ProductResponse> page;
+        do {
+            page = productRepository.findPageAfter(cursor, PageRequest.of(0, BUILD_BATCH_SIZE));
+            for (ProductResponse product : page.getContent()) {
+                putUnlessChanged(product);
+                cursor = product.getId();
+            }
+        } while (page.hasNext());
+        changedDuringBuild = null;
+        log.info("상품 검색 색인 생성: 상품 {}개, 단어 {}개", documents.size(), words.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Set<Long> changed = changedDuringBuild;
+        if (changed != null) {
+            changed.add(event.productId());
+        }
+        Optional<ProductResponse> product = productRepository.findResponseById(event.productId());
+        if (product.isPresent()) {
+            put(product.get());
+        } else {
+            remove(event.productId());
+        }
+    }
+
+    public void put(ProductResponse product) {
+        documents.compute(product.getId(), (id, previous) -> replace(id, previous, product));
+    }
+
+    // 같은 상품의 put과 같은 잠금(compute) 안에서 확인하므로 이벤트가 반영한 값을 색인 생성이 되돌리지 않는다
+    private void putUnlessChanged(ProductResponse product) {
+        documents.compute(product.getId(), (id, previous) -> {
+            Set<Long> changed = changedDuringBuild;
+            return changed != null && changed.contains(id) ? previous : replace(id, previous, product);
+        });
+    }
+
+    private Document replace(Long id, Document previous, ProductResponse product) {
+        if (previous != null && Objects.equals(previous.product().getName(), product.getName())) {
+            return new Document(product, previous.words());  // 가격, 재고, 상태만 바뀌었으면 문서만 교체한다
+        }
+        if (previous != null) {
+            unindex(id, previous);
+        }
+        Document document = new Document(product, tokenize(product.getName()));
+        index(id, document);
+        return document;
+    }
+
+    public void remove(Long productId) {
+        documents.computeIfPresent(productId, (id, previous) -> {
+            unindex(id, previous);
+            return null;
+        });
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    public Slice<ProductResponse> search(String query, ProductStatus status, int page, int size) {
+        List<String> terms = List.copyOf(new LinkedHashSet<>(tokenize(query)));
+        int from = page * size;
+        int to = Math.min(from + size, maxResults);
+        if (terms.isEmpty() || from >= to) {
+            return new SliceImpl<>(List.of(), PageRequest.of(page, size), false);
+        }
+
+        // to + 1번째 결과까지 구해 다음 페이지가 있는지 안다. 단 max-results를 넘는 페이지는 주지 않는다
+        int limit = to + (to < maxResults ? 1 : 0);
+        List<ProductResponse> ranked = terms.size() == 1
+                ? rankSingle(terms.get(0), status, limit)
+                : rankMulti(terms, status, limit);
+        if (from >= ranked.size()) {
+            return new SliceImpl<>(List.of(), PageRequest.of(page, size), false);
+        }
+        List<ProductResponse> content = ranked.subList(from, Math.min(to, ranked.size()));
+        return new SliceImpl<>(new ArrayList<>(content), PageRequest.of(page, size), ranked.size() > to);
+    }
+
+    private record Hit(ProductResponse product, int score) {
+        static final Comparator<Hit> RANKING = Comparator.comparingInt(Hit::score).reversed()
+                .thenComparingInt(hit -> hit.product().getName().length())
+                .thenComparing(hit -> hit.product().getId(), Comparator.reverseOrder());
+    }
+
+    // 질의 단어가 하나면 점수 구간마다 색인 항목이 이미 동점 순서라 상위 limit개만 읽으면 된다
+    private List<ProductResponse> rankSingle(String term, ProductStatus status, int limit) {
+        List<ProductResponse> ranked = new ArrayList<>(limit);
+        Postings exact = words.get(term);
+        collect(exact != null ? List.of(exact) : List.of(), term, EXACT, status, limit, ranked);
+        collect(words.subMap(term, false, term + Character.MAX_VALUE, false).values(), term, PREFIX, status, limit, ranked);
+        collect(suffixes.subMap(term, true, term + Character.MAX_VALUE, false).values(), term, INFIX, status, limit, ranked);
+        return ranked;
+    }
+
+    // 더 높은 점수 구간에서 이미 나온 상품은 건너뛴다
+    private void collect(Collection<Postings> lists, String term, int score, ProductStatus status, int limit,
+                         List<ProductResponse> ranked) {
+        if (ranked.size() >= limit) {
+            return;
+        }
+        Merge merge = new Merge(lists);
+        long entry;
+        while (ranked.size() < limit && (entry = merge.next()) >= 0) {
+            Document document = documents.get(idOf(entry));
+            if (document != null && matches(document, status) && score(document.words(), term) == score) {
+                ranked.add(document.product());
+            }
+        }
+    }
+
+    // 일치 상품이 가장 적은 단어의 후보를 동점 순서로 읽고 나머지 단어는 후보의 단어 목록으로 확인한다(교집합).
+    // 뒤에 읽는 후보는 점수가 더 높아야 앞선 결과를 밀어낸다. 상위 limit개가 모두 가능한 최고 점수면 더 읽지 않는다
+    private List<ProductResponse> rankMulti(List<String> terms, ProductStatus status, int limit) {
+        String driver = null;
+        long fewest = Long.MAX_VALUE;
+        int bound = 0;
+        for (String term : terms) {
+            int best = bestScore(term);
+            if (best == 0) {
+                return List.of();
+            }
+            bound += best;
+            long count = count(term, fewest);
+            if (count < fewest) {
+                driver = term;
+                fewest = count;
+            }
+        }
+
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1, Hit.RANKING.reversed());
+        Merge merge = new Merge(candidates(driver));
+        long entry;
+        while ((entry = merge.next()) >= 0) {
+            if (top.size() == limit && top.peek().score() >= bound) {
+                break;
+            }
+            Document document = documents.get(idOf(entry));
+            if (document == null || !matches(document, status)) {
+                continue;
+            }
+            int total = 0;
+            for (String term : terms) {
+                int score = score(document.words(), term);
+                if (score == 0) {
+                    total = 0;
+                    break;
+                }
+                total += score;
+            }
+            if (total == 0) {
+                continue;
+            }
+            if (top.size() < limit) {
+                top.add(new Hit(document.product(), total));
+            } else if (total > top.peek().score()) {
+                top.poll();
+                top.add(new Hit(document.product(), total));
+            }
+        }
+
+        List<Hit> hits = new ArrayList<>(top);
+        hits.sort(Hit.RANKING);
+        List<ProductResponse> ranked = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            ranked.add(hit.product());
+        }
+        return ranked;
+    }
+
+    // 여러 정렬된 색인 항목을 합쳐 작은 것부터 중복 없이 읽는다. 다 읽으면 -1
+    private static final class Merge {
+        private final PriorityQueue<Cursor> cursors = new PriorityQueue<>();
+        private long last = -1;
+
+        private Merge(Collection<Postings> lists) {
+            for (Postings postings : lists) {
+                Cursor cursor = new Cursor(postings.entries.iterator());
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+            }
+        }
+
+        private long next() {
+            while (!cursors.isEmpty()) {
+                Cursor cursor = cursors.poll();
+                long entry = cursor.current;
+                if (cursor.advance()) {
+                    cursors.add(cursor);
+                }
+                if (entry != last) {
+                    last = entry;
+                    return entry;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class Cursor implements Comparable<Cursor> {
+        private final Iterator<Long> iterator;
+        private long current;
+
+        private Cursor(Iterator<Long> iterator) {
+            this.iterator = iterator;
+        }
+
+        private boolean advance() {
+            if (!iterator.hasNext()) {
+                return false;
+            }
+            current = iterator.next();
+            return true;
+        }
+
+        @Override
+        public int compareTo(Cursor other) {
+            return Long.compare(current, other.current);
+        }
+    }
+
+    private List<Postings> candidates(String term) {
+        List<Postings> lists = new ArrayList<>(words.subMap(term, true, term + Character.MAX_VALUE, false).values());
+        lists.addAll(suffixes.subMap(term, true, term + Character.MAX_VALUE, false).values());
+        return lists;
+    }
+
+    // 단어가 일치하는 색인 항목 수. bound를 넘으면 더 세지 않는다
+    private long count(String term, long bound) {
+        long count = 0;
+        for (Postings postings : candidates(term)) {
+            count += postings.size.get();
+            if (count >= bound) {
+                return count;
+            }
+        }
+        return count;
+    }
+
+    // 이 단어로 받을 수 있는 가장 높은 점수. 일치하는 상품이 없으면 0
+    private int bestScore(String term) {
+        Postings exact = words.get(term);
+        if (exact != null && exact.size.get() > 0) {
+            return EXACT;
+        }
+        if (nonEmpty(words.subMap(term, false, term + Character.MAX_VALUE, false).values())) {
+            return PREFIX;
+        }
+        return nonEmpty(suffixes.subMap(term, true, term + Character.MAX_VALUE, false).values()) ? INFIX : 0;
+    }
+
+    private static boolean nonEmpty(Collection<Postings> lists) {
+        for (Postings postings : lists) {
+            if (postings.size.get() > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean matches(Document document, ProductStatus status) {
+        return status == null || document.product().getStatus() == status;
+    }
+
+    // 색인과 같은 기준의 단어 점수: 단어 일치, 단어 접두어, 두 번째 글자 이후 부분 일치
+    private static int score(List<String> words, String term) {
+        int best = 0;
+        for (String word : words) {
+            if (word.equals(term)) {
+                return EXACT;
+            }
+            if (word.startsWith(term)) {
+                best = PREFIX;
+            } else if (best == 0 && word.indexOf(term, 1) > 0) {
+                best = INFIX;
+            }
+        }
+        return best;
+    }
+
+    private static long entry(Long id, String name) {
+        if (id > MAX_ID) {
+            throw new IllegalArgumentException("색인할 수 없는 상품 id: " + id);
+        }
+        return ((long) Math.min(name.length(), MAX_NAME_LENGTH) << ID_BITS) | (MAX_ID - id);
+    }
+
+    private static Long idOf(long entry) {
+        return MAX_ID - (entry & MAX_ID);
+    }
+
+    private void index(Long id, Document document) {
+        long entry = entry(id, document.product().getName());
+        for (String word : document.words()) {
+            add(words, word, entry);
+            for (int i = 1; i < word.length(); i++) {
+                add(suffixes, word.substring(i), entry);
+            }
+        }
+    }
+
+    private void unindex(Long id, Document document) {
+        long entry = entry(id, document.product().getName());
+        for (String word : document.words()) {
+            delete(words, word, entry);
+            for (int i = 1; i < word.length(); i++) {
+                delete(suffixes, word.substring(i), entry);
+            }
+        }
+    }
+
+    // ConcurrentSkipListMap.compute는 원자적이지 않아 새 키에 동시에 넣으면 각자 만든 Postings 중 하나가 사라진다.
+    // computeIfAbsent는 먼저 들어간 Postings 하나를 모두에게 돌려주므로 그 위에서 항목을 더한다
+    private static void add(ConcurrentSkipListMap<String, Postings> index, String key, long entry) {
+        index.computeIfAbsent(key, k -> new Postings()).add(entry);
+    }
+
+    // 빈 키도 지우지 않는다. 지우는 사이 다른 상품이 같은 Postings에 넣은 항목을 잃을 수 있다
+    private static void delete(ConcurrentSkipListMap<String, Postings> index, String key, long entry) {
+        Postings postings = index.get(key);
+        if (postings != null) {
+            postings.remove(entry);
+        }
+    }
+
+    // 호환 문자(전각 영문, 자모 조합 등)를 정규화하고 소문자로 바꾼 뒤 글자/숫자가 아닌 문자로 나눈다
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean letter = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (letter && start < 0) {
+                start = i;
+            } else if (!letter && start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+}
@@ -1,16 +1,27 @@
 package org.example.market.service;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.example.market.controller.dto.ProductDetailResponse;
+import org.example.market.controller.dto.ProductResponse;
 import org.example.market.controller.dto.ProductUpdateRequest;
+import org.example.market.datasource.ReplicaRoutingDataSource;
 import org.example.market.domain.Member;
 import org.example.market.domain.Product;
 import org.example.market.domain.Product.ProductStatus;
+import org.example.market.event.ProductChangedEvent;
 import org.example.market.exception.ProductNotFoundException;
 import org.example.market.exception.UnauthorizedException;
 import org.example.market.repository.OrderRepository;
 import org.example.market.repository.ProductRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
@@ -23,29 +34,72 @@ import java.util.Optional;
 public class ProductService {
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
+    private final ProductDetailCache productDetailCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductSearchIndex productSearchIndex;
+    private final ProductSalesService productSalesService;
+
+    @Autowired(required = false)
+    private StockLedger stockLedger;
 
     @Transactional
     public Product save(Product product) {
         log.info("제품 등록 = {}", product);
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productSalesService.register(saved.getId());
+        eventPublisher.publishEvent(new ProductChangedEvent(saved.getId()));
+        return saved;
     }
 
+    @Timed(value = "market.product.list", histogram = true)
     public List<Product> findAll() {
         return productRepository.findAll();
     }
 
+    // cursor 이후의 상품을 id 순서로 size개 조회한다. cursor가 없으면 처음부터
+    @Timed(value = "market.product.page", histogram = true)
+    public Slice<ProductResponse> findPage(Long cursor, ProductStatus status, int size) {
+        long after = cursor != null ? cursor : 0L;
+        PageRequest limit = PageRequest.of(0, size);
+        if (status == null) {
+            return productRepository.findPageAfter(after, limit);
+        }
+        return productRepository.findPageByStatusAfter(status, after, limit);
+    }
+
+    // 상품명 검색은 DB가 아니라 메모리 색인에서 처리한다
+    @Timed(value = "market.product.search", histogram = true)
+    public Slice<ProductResponse> search(String query, ProductStatus status, int page, int size) {
+        return productSearchIndex.search(query, status, page, size);
+    }
+
+    @Timed(value = "market.product.find", histogram = true)
     public Optional<Product> findById(Long id) {
         return productRepository.findById(id);
     }
 
+    // 캐시에 있으면 트랜잭션(커넥션) 없이 응답한다
+    // 캐시가 비어 있으면 변경 커밋 직후 무효화된 것일 수 있으므로, 복제본에서 이전 값을 읽어 TTL 동안 캐시하지 않도록 기본 DB에서 읽는다
+    @Timed(value = "market.product.detail", histogram = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<ProductDetailResponse> findDetailById(Long id) {
+        return productDetailCache.get(id, key -> ReplicaRoutingDataSource.readFromPrimary(() -> productRepository.findById(key)
+                .map(ProductDetailResponse::new)
+                .orElse(null)));
+    }
+
+    @Timed(value = "market.product.by-status", histogram = true)
     public List<Product> findByStatus(ProductStatus status) {
         return productRepository.findByStatus(status);
     }
 
+    @Timed(value = "market.product.by-seller", histogram = true)
     public List<Product> findBySeller(Member seller) {
         return productRepository.findBySeller(seller);
     }
 
+    // 수정 내용은 판매자가 본 상품을 기준으로 한 절대값이라, 판매 승인과 겹쳤을 때 다시 읽어 적용하면 그 사이의 재고 차감을 덮어쓴다.
+    // 그래서 재시도하지 않고 충돌(409)로 돌려보낸다. 요청에 version이 있으면 그 버전의 상품일 때만 적용한다
     @Transactional
     public Product updateProduct(Long id, ProductUpdateRequest updateRequest, Member seller) {
         Product product = productRepository.findById(id)
@@ -53,6 +107,10 @@ public class ProductService {
         if (!product.getSeller().equals(seller)) {
             throw new UnauthorizedException("상품을 수정할 권한이 없습니다.");
         }
+        checkVersion(product, updateRequest.getVersion());
+        if (stockLedger != null) {
+            stockLedger.adjust(id, (long) updateRequest.getStock() - product.getStock());
+        }
         product.updateDetails(
                 updateRequest.getName(),
                 updateRequest.getPrice(),
@@ -61,16 +119,31 @@ public class ProductService {
         if (updateRequest.getStatus() != null) {
             product.setStatus(updateRequest.getStatus());
         }
+        eventPublisher.publishEvent(new ProductChangedEvent(id));
         return product;
     }
 
+    // 수정과 마찬가지로 판매자가 본 상품을 지우는 요청이므로 충돌하면 재시도하지 않는다. version이 있으면 그 버전일 때만 지운다
     @Transactional
-    public void deleteProduct(Long id, Member seller) {
+    public void deleteProduct(Long id, Long version, Member seller) {
         Product product = productRepository.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("존재하지 않는 상품입니다."));
         if (!product.getSeller().equals(seller)) {
             throw new UnauthorizedException("상품을 삭제할 권한이 없습니다.");
         }
+        checkVersion(product, version);
         productRepository.delete(product);
+        productSalesService.unregister(id);
+        eventPublisher.publishEvent(new ProductChangedEvent(id));
+        if (stockLedger != null) {
+            stockLedger.evict(id);
+        }
+    }
+
+    // 판매자가 읽은 뒤 판매 승인이나 다른 수정이 커밋되어 버전이 바뀌었으면 적용하지 않는다
+    private static void checkVersion(Product product, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(product.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Product.class, product.getId());
+        }
     }
-}
\ No newline at end of file
+}
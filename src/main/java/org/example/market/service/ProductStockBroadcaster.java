@@ -0,0 +1,343 @@
+package org.example.market.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.market.controller.dto.ProductStockDelta;
+import org.example.market.event.ProductChangedEvent;
+import org.example.market.exception.SubscriberLimitException;
+import org.example.market.repository.ProductRepository;
+import org.example.market.repository.ProductRepository.StockState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter.SseEventBuilder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 상품 재고/상태 변경을 SSE 구독자에게 보낸다.
+ * 커밋된 변경은 상품별로 최신 값 하나만 모아 두고(coalescing), 전담 스레드 하나가 flush-interval마다 구독자에게 나눠 준다.
+ * 구독자마다 버퍼(상품별 최신 값, buffer-size개까지)와 쓰기 작업을 따로 두어 느린 연결이 다른 연결의 전송을 막지 않는다.
+ * 버퍼가 넘치거나 한 번의 쓰기가 slow-consumer-timeout보다 오래 걸리는 구독자는 연결을 끊는다. 클라이언트는 다시 연결하고 목록을 새로 받는다.
+ * 구독 목록이 노드 메모리에 있으므로 여러 노드 배포에서는 각 노드가 자기 노드에서 커밋된 변경만 보낸다.
+ */
+@Slf4j
+@Component
+public class ProductStockBroadcaster {
+    static final String SUBSCRIBERS = "market.product.stream.subscribers";
+    static final String DELTAS = "market.product.stream.deltas";
+    static final String EVICTIONS = "market.product.stream.evictions";
+    private static final long RECONNECT_MS = 3000;
+
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final long slowConsumerNanos;
+    private final long heartbeatNanos;
+    private final Duration timeout;
+    private final Counter deltas;
+    private final Counter overflowEvictions;
+    private final Counter slowEvictions;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Subscriber>> byProduct = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> bySeller = new ConcurrentHashMap<>();
+
+    // 아직 나눠 주지 않은 변경. 같은 상품이 여러 번 바뀌면 마지막 값만 남는다
+    private final Map<Long, Change> pending = new ConcurrentHashMap<>();
+    // 마지막으로 보낸 값. 재고/상태가 같은 변경(이름, 가격 수정)은 보내지 않고, 삭제된 상품의 판매자를 찾는 데 쓴다
+    private final Cache<Long, Change> lastSent = Caffeine.newBuilder().maximumSize(100_000).build();
+
+    private final ScheduledExecutorService dispatcher;
+    private final ExecutorService writers;
+    private long lastHeartbeat = System.nanoTime();
+
+    private record Change(Long productId, Long sellerId, ProductStockDelta delta) {
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Long> productIds;
+        private final Long sellerId;
+        private final LinkedHashMap<Long, String> buffer = new LinkedHashMap<>();
+        private final AtomicBoolean writing = new AtomicBoolean();
+        private volatile long sendingSince;
+        private volatile boolean closed;
+        private boolean heartbeat;
+
+        private Subscriber(SseEmitter emitter, Set<Long> productIds, Long sellerId) {
+            this.emitter = emitter;
+            this.productIds = productIds;
+            this.sellerId = sellerId;
+        }
+
+        // 버퍼가 넘치면 false
+        private synchronized boolean offer(Long productId, String json) {
+            buffer.put(productId, json);
+            return buffer.size() <= bufferSize;
+        }
+
+        private synchronized void heartbeat() {
+            heartbeat = true;
+        }
+
+        // 보낼 것이 없으면 쓰기 상태를 풀고 null. offer와 같은 잠금 안에서 풀어야 새 변경을 놓치지 않는다
+        private synchronized SseEventBuilder take() {
+            if (closed || (buffer.isEmpty() && !heartbeat)) {
+                sendingSince = 0;
+                writing.set(false);
+                return null;
+            }
+            heartbeat = false;
+            sendingSince = System.nanoTime();
+            if (buffer.isEmpty()) {
+                return SseEmitter.event().comment("ping");
+            }
+            String data = "[" + String.join(",", buffer.values()) + "]";
+            buffer.clear();
+            return SseEmitter.event().name("stock").data(data, MediaType.APPLICATION_JSON);
+        }
+
+        private synchronized void discard() {
+            closed = true;
+            buffer.clear();
+        }
+    }
+
+    public ProductStockBroadcaster(ProductRepository productRepository,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${market.product.stream.flush-interval-ms:200}") long flushIntervalMs,
+                                   @Value("${market.product.stream.buffer-size:256}") int bufferSize,
+                                   @Value("${market.product.stream.max-subscribers:10000}") int maxSubscribers,
+                                   @Value("${market.product.stream.writer-threads:4}") int writerThreads,
+                                   @Value("${market.product.stream.slow-consumer-timeout:10s}") Duration slowConsumerTimeout,
+                                   @Value("${market.product.stream.heartbeat-interval:15s}") Duration heartbeatInterval,
+                                   @Value("${market.product.stream.timeout:30m}") Duration timeout) {
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.slowConsumerNanos = slowConsumerTimeout.toNanos();
+        this.heartbeatNanos = heartbeatInterval.toNanos();
+        this.timeout = timeout;
+        this.deltas = meterRegistry.counter(DELTAS);
+        this.overflowEvictions = meterRegistry.counter(EVICTIONS, "reason", "overflow");
+        this.slowEvictions = meterRegistry.counter(EVICTIONS, "reason", "slow");
+        meterRegistry.gaugeCollectionSize(SUBSCRIBERS, Tags.empty(), subscribers);
+
+        CustomizableThreadFactory dispatcherThreads = new CustomizableThreadFactory("product-stream-");
+        dispatcherThreads.setDaemon(true);
+        this.dispatcher = Executors.newSingleThreadScheduledExecutor(dispatcherThreads);
+        CustomizableThreadFactory writerThreadFactory = new CustomizableThreadFactory("product-stream-writer-");
+        writerThreadFactory.setDaemon(true);
+        this.writers = Executors.newFixedThreadPool(writerThreads, writerThreadFactory);
+        dispatcher.scheduleWithFixedDelay(this::dispatch, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    // 구독자가 너무 많으면 SubscriberLimitException
+    public SseEmitter subscribeProducts(Collection<Long> productIds) {
+        return register(new SseEmitter(timeout.toMillis()), Set.copyOf(productIds), null);
+    }
+
+    public SseEmitter subscribeSeller(Long sellerId) {
+        return register(new SseEmitter(timeout.toMillis()), Set.of(), sellerId);
+    }
+
+    SseEmitter register(SseEmitter emitter, Set<Long> productIds, Long sellerId) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new SubscriberLimitException("구독자가 많아 연결할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+        Subscriber subscriber = new Subscriber(emitter, productIds, sellerId);
+        subscribers.add(subscriber);
+        for (Long productId : productIds) {
+            byProduct.computeIfAbsent(productId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        if (sellerId != null) {
+            bySeller.computeIfAbsent(sellerId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        }
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        try {
+            // 응답 헤더를 바로 보내고, 끊기면 다시 연결할 간격을 알려 준다
+            emitter.send(SseEmitter.event().comment("connected").reconnectTime(RECONNECT_MS));
+        } catch (IOException e) {
+            remove(subscriber);
+        }
+        return emitter;
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // 롤백된 변경은 보내지 않는다. 구독자가 없으면 상품을 다시 읽지 않는다
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Long productId = event.productId();
+        Optional<StockState> state = productRepository.findStockStateById(productId);
+        Change change = state
+                .map(s -> new Change(productId, s.getSellerId(), new ProductStockDelta(productId, s.getStock(), s.getStatus(), null)))
+                .orElseGet(() -> new Change(productId, null, ProductStockDelta.deleted(productId)));
+        pending.put(productId, change);
+    }
+
+    void dispatch() {
+        try {
+            for (Long productId : pending.keySet()) {
+                Change change = pending.remove(productId);
+                if (change != null) {
+                    fanOut(change);
+                }
+            }
+            checkSubscribers();
+        } catch (RuntimeException e) {
+            log.warn("상품 변경 알림 전송 실패", e);
+        }
+    }
+
+    private void fanOut(Change change) {
+        Long productId = change.productId();
+        Change previous = lastSent.getIfPresent(productId);
+        Long sellerId = change.sellerId() != null ? change.sellerId() : previous != null ? previous.sellerId() : null;
+        if (Boolean.TRUE.equals(change.delta().getDeleted())) {
+            lastSent.invalidate(productId);
+        } else {
+            if (previous != null && sameStock(previous.delta(), change.delta())) {
+                return;
+            }
+            lastSent.put(productId, change);
+        }
+
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(change.delta());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+        deliver(byProduct.get(productId), productId, json);
+        if (sellerId != null) {
+            deliver(bySeller.get(sellerId), productId, json);
+        }
+    }
+
+    private static boolean sameStock(ProductStockDelta previous, ProductStockDelta current) {
+        return Objects.equals(previous.getStock(), current.getStock()) && previous.getStatus() == current.getStatus();
+    }
+
+    private void deliver(Set<Subscriber> targets, Long productId, String json) {
+        if (targets == null) {
+            return;
+        }
+        for (Subscriber subscriber : targets) {
+            if (!subscriber.offer(productId, json)) {
+                overflowEvictions.increment();
+                evict(subscriber);
+                continue;
+            }
+            deltas.increment();
+            schedule(subscriber);
+        }
+    }
+
+    // 쓰기가 오래 걸리는 구독자를 끊고, heartbeat-interval마다 끊긴 연결을 찾기 위해 주석 줄을 보낸다
+    private void checkSubscribers() {
+        long now = System.nanoTime();
+        boolean heartbeat = now - lastHeartbeat >= heartbeatNanos;
+        if (heartbeat) {
+            lastHeartbeat = now;
+        }
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.sendingSince;
+            if (since != 0 && now - since > slowConsumerNanos) {
+                slowEvictions.increment();
+                evict(subscriber);
+            } else if (heartbeat) {
+                subscriber.heartbeat();
+                schedule(subscriber);
+            }
+        }
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.writing.compareAndSet(false, true)) {
+            try {
+                writers.execute(() -> drain(subscriber));
+            } catch (RejectedExecutionException e) {
+                subscriber.writing.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        SseEventBuilder event;
+        while ((event = subscriber.take()) != null) {
+            try {
+                subscriber.emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // 클라이언트가 연결을 끊었거나 이미 완료된 emitter
+                remove(subscriber);
+                subscriber.writing.set(false);
+                return;
+            }
+        }
+        if (subscriber.closed) {
+            subscriber.emitter.complete();
+        }
+    }
+
+    // 구독 목록에서 빼고 버퍼를 버린다. 연결 종료는 쓰기 스레드가 진행 중인 쓰기를 마친 뒤 처리한다
+    private void evict(Subscriber subscriber) {
+        remove(subscriber);
+        schedule(subscriber);
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.discard();
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        for (Long productId : subscriber.productIds) {
+            byProduct.computeIfPresent(productId, (id, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+        }
+        if (subscriber.sellerId != null) {
+            bySeller.computeIfPresent(subscriber.sellerId, (id, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatcher.shutdownNow();
+        for (Subscriber subscriber : List.copyOf(subscribers)) {
+            remove(subscriber);
+            subscriber.emitter.complete();
+        }
+        writers.shutdownNow();
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.market.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.market.domain.RefreshToken;
+import org.example.market.exception.UnauthorizedException;
+import org.example.market.jwt.MemberPrincipal;
+import org.example.market.repository.MemberRepository;
+import org.example.market.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * 리프레시 토큰 발급, 교체, 폐기. 재발급은 토큰 해시 조회와 회원 PK 조회만 하고 비밀번호(BCrypt)는 검증하지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final MemberRepository memberRepository;
+
+    @Value("${market.jwt.refresh-token-ttl:14d}")
+    private Duration refreshTokenTtl = Duration.ofDays(14);
+
+    public record Rotation(MemberPrincipal principal, String refreshToken) {
+    }
+
+    public Duration getRefreshTokenTtl() {
+        return refreshTokenTtl;
+    }
+
+    // 로그인 시 새 family를 시작한다. 반환값은 클라이언트에 한 번만 전달되는 원문 토큰
+    @Transactional
+    public String issue(MemberPrincipal principal) {
+        return issue(principal.getId(), UUID.randomUUID().toString());
+    }
+
+    // 제출된 토큰을 폐기하고 같은 family의 새 토큰을 발급한다
+    // 이미 교체된 토큰이 다시 오면 탈취된 것으로 보고 family 전체를 폐기한다
+    @Transactional(noRollbackFor = UnauthorizedException.class)
+    public Rotation rotate(String rawToken) {
+        RefreshToken token = find(rawToken);
+        if (token.isExpired(Instant.now())) {
+            throw new UnauthorizedException("만료된 토큰입니다.");
+        }
+        if (refreshTokenRepository.revokeIfActive(token.getId()) == 0) {
+            refreshTokenRepository.revokeFamily(token.getFamily());
+            log.warn("리프레시 토큰 재사용 감지: member={}, family={}", token.getMemberId(), token.getFamily());
+            throw new UnauthorizedException("다시 로그인해주세요.");
+        }
+
+        MemberPrincipal principal = memberRepository.findById(token.getMemberId())
+                .map(MemberPrincipal::from)
+                .orElseThrow(() -> new UnauthorizedException("존재하지 않는 회원입니다."));
+        return new Rotation(principal, issue(token.getMemberId(), token.getFamily()));
+    }
+
+    // 로그아웃: 해당 로그인에서 이어진 토큰을 모두 폐기한다
+    @Transactional
+    public void revoke(String rawToken) {
+        refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .ifPresent(token -> refreshTokenRepository.revokeFamily(token.getFamily()));
+    }
+
+    // 만료된 토큰은 재사용 감지에도 필요 없으므로 주기적으로 지운다
+    @Scheduled(fixedDelayString = "${market.jwt.refresh-token-cleanup-interval-ms:3600000}")
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void deleteExpired() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        if (deleted > 0) {
+            log.info("만료된 리프레시 토큰 {}건 삭제", deleted);
+        }
+    }
+
+    private String issue(Long memberId, String family) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = ENCODER.encodeToString(bytes);
+        refreshTokenRepository.save(new RefreshToken(hash(rawToken), family, memberId, Instant.now().plus(refreshTokenTtl)));
+        return rawToken;
+    }
+
+    private RefreshToken find(String rawToken) {
+        if (rawToken == null || rawToken.isBlank()) {
+            throw new UnauthorizedException("로그인이 필요합니다.");
+        }
+        return refreshTokenRepository.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new UnauthorizedException("유효하지 않은 토큰입니다."));
+    }
+
+    static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return ENCODER.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
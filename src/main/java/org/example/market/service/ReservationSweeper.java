@@ -0,0 +1,126 @@
+package org.example.market.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.example.market.event.ReservationsCanceledEvent;
+import org.example.market.outbox.OrderOutbox;
+import org.example.market.repository.OrderRepository;
+import org.example.market.repository.OrderRepository.ExpiredReservation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 승인되지 않고 reservation-ttl이 지난 예약 주문을 취소한다.
+ * batch-size개씩 잠그고 한 번의 UPDATE로 취소하며, 배치마다 트랜잭션을 나눠 잠금을 오래 잡지 않는다.
+ * 잠긴 행은 건너뛰므로 여러 노드에서 동시에 실행해도 같은 주문을 두 번 취소하지 않는다.
+ */
+@Slf4j
+@Component
+public class ReservationSweeper {
+    static final String SWEEP = "market.order.expiry.sweep";
+    static final String CANCELED = "market.order.expiry.canceled";
+
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+    private final Timer sweepTimer;
+    private final Counter canceled;
+    private final Duration ttl;
+    private final int batchSize;
+    private final int maxBatches;
+
+    @Autowired(required = false)
+    private OrderOutbox orderOutbox;
+
+    public ReservationSweeper(OrderRepository orderRepository,
+                              TransactionTemplate transactionTemplate,
+                              ApplicationEventPublisher eventPublisher,
+                              MeterRegistry meterRegistry,
+                              @Value("${market.order.expiry.reservation-ttl:24h}") Duration ttl,
+                              @Value("${market.order.expiry.batch-size:500}") int batchSize,
+                              @Value("${market.order.expiry.max-batches:20}") int maxBatches) {
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.sweepTimer = Timer.builder(SWEEP)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.canceled = meterRegistry.counter(CANCELED);
+        this.ttl = ttl;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    @Scheduled(fixedDelayString = "${market.order.expiry.interval-ms:60000}")
+    public void sweep() {
+        expire(LocalDateTime.now().minus(ttl));
+    }
+
+    // cutoff 이전에 만든 예약을 취소한다. 한 번에 max-batches 배치까지만 처리하고 나머지는 다음 주기로 넘긴다
+    public int expire(LocalDateTime cutoff) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        int total = 0;
+        try {
+            int expired;
+            int batches = 0;
+            do {
+                expired = transactionTemplate.execute(status -> expireBatch(cutoff));
+                total += expired;
+            } while (expired == batchSize && ++batches < maxBatches);
+        } finally {
+            sample.stop(sweepTimer);
+            canceled.increment(total);
+        }
+        if (total > 0) {
+            log.info("만료된 예약 {}건 취소 (기준 {})", total, cutoff);
+        }
+        return total;
+    }
+
+    private int expireBatch(LocalDateTime cutoff) {
+        List<ExpiredReservation> rows = orderRepository.findExpiredReservations(cutoff, PageRequest.of(0, batchSize));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        // 상품 id 순서로 집계를 갱신해 노드 간 잠금 순서를 고정한다
+        Map<Long, long[]> byProduct = new TreeMap<>();
+        List<Long> orderIds = new ArrayList<>(rows.size());
+        for (ExpiredReservation row : rows) {
+            orderIds.add(row.getId());
+            if (row.getProductId() != null) {
+                long[] total = byProduct.computeIfAbsent(row.getProductId(), id -> new long[2]);
+                total[0]++;
+                total[1] += row.getQuantity();
+            }
+        }
+
+        int updated = orderRepository.cancelReservations(orderIds, LocalDateTime.now());
+        if (updated != rows.size()) {
+            // 잠근 행이라 바뀔 수 없다. 집계가 어긋나지 않도록 배치 전체를 롤백한다
+            throw new IllegalStateException("만료 예약 취소 건수 불일치: 조회 " + rows.size() + ", 취소 " + updated);
+        }
+        if (orderOutbox != null) {
+            rows.forEach(orderOutbox::recordCanceled);
+        }
+        byProduct.forEach((productId, total) ->
+                eventPublisher.publishEvent(new ReservationsCanceledEvent(productId, total[0], total[1])));
+        return updated;
+    }
+}
@@ -0,0 +1,272 @@
+package org.example.market.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.market.domain.Product.ProductStatus;
+import org.example.market.event.ProductChangedEvent;
+import org.example.market.event.ReservationsCanceledEvent;
+import org.example.market.exception.ProductNotFoundException;
+import org.example.market.repository.OrderRepository;
+import org.example.market.repository.OrderRepository.UnsyncedStock;
+import org.example.market.repository.ProductRepository;
+import org.example.market.repository.ProductRepository.LedgerStock;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 상품별 판매 가능 수량과 예약 보류 수량을 메모리에서 관리하는 재고 원장.
+ * 예약 승인/거절은 Product 행을 거치지 않고 CAS로 처리하고, 판매된 수량은 주기적으로 모아서 Product.stock에 반영한다.
+ * 반영되지 않은 판매 수량은 Orders.stockSynced로 DB에 남기 때문에 비정상 종료 후에도 기동 시 다시 맞춰진다.
+ * 원장은 노드 메모리에 있으므로 단일 노드 배포에서만 사용한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "market.inventory.ledger", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class StockLedger implements SmartLifecycle {
+    static final int RECONCILE_PHASE = 0;
+
+    private final ProductRepository productRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${market.inventory.ledger.flush-batch-size:1000}")
+    private int flushBatchSize = 1000;
+
+    private final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<Slot>> loading = new ConcurrentHashMap<>();
+    private volatile boolean running;
+
+    private static final class Slot {
+        // 판매 가능 수량 = DB 재고 - 반영 대기 중인 판매 수량 - 예약 보류 수량
+        private final AtomicLong available;
+        private final AtomicLong held;
+
+        private Slot(long available, long held) {
+            this.available = new AtomicLong(available);
+            this.held = new AtomicLong(held);
+        }
+    }
+
+    // 예약 수량만큼 판매 가능 수량을 보류한다. 재고가 부족하면 false
+    public boolean tryReserve(Long productId, long quantity) {
+        Slot slot = slot(productId);
+        long current;
+        do {
+            current = slot.available.get();
+            if (current < quantity) {
+                return false;
+            }
+        } while (!slot.available.compareAndSet(current, current - quantity));
+        slot.held.addAndGet(quantity);
+
+        onRollback(() -> release(productId, quantity));
+        return true;
+    }
+
+    // 판매 승인: 보류 수량을 판매 수량으로 확정한다. 실제 재고 차감은 flush에서 반영
+    public void confirm(Long productId, long quantity) {
+        slot(productId).held.addAndGet(-quantity);
+        onRollback(() -> slot(productId).held.addAndGet(quantity));
+    }
+
+    // 예약 취소: 보류 수량을 다시 판매 가능 수량으로 돌린다
+    public void release(Long productId, long quantity) {
+        Slot slot = slots.get(productId);
+        if (slot == null) {
+            return;
+        }
+        slot.held.addAndGet(-quantity);
+        slot.available.addAndGet(quantity);
+    }
+
+    // 예약이 만료되어 취소되면 커밋 후 보류 수량을 돌린다
+    @EventListener
+    public void onReservationsCanceled(ReservationsCanceledEvent event) {
+        onCommit(() -> release(event.productId(), event.quantity()));
+    }
+
+    // 판매자가 재고를 수정하면 커밋 후 변경량만큼 판매 가능 수량을 조정한다
+    public void adjust(Long productId, long delta) {
+        onCommit(() -> {
+            Slot slot = slots.get(productId);
+            if (slot != null) {
+                slot.available.addAndGet(delta);
+            }
+        });
+    }
+
+    public void evict(Long productId) {
+        onCommit(() -> slots.remove(productId));
+    }
+
+    public long available(Long productId) {
+        return slot(productId).available.get();
+    }
+
+    public long held(Long productId) {
+        return slot(productId).held.get();
+    }
+
+    // 처음 접근하는 상품은 DB 재고, 반영 대기 판매 수량, RESERVED 주문 수량으로 상태를 복원한다
+    // computeIfAbsent 안에서 조회하면 맵 버킷 잠금(synchronized)을 잡은 채 JDBC를 기다려 가상 스레드가 캐리어에 고정되므로
+    // 잠금 밖에서 한 스레드만 읽고, 같은 상품을 동시에 요청한 스레드는 그 결과를 기다린다
+    private Slot slot(Long productId) {
+        Slot slot = slots.get(productId);
+        if (slot != null) {
+            return slot;
+        }
+
+        CompletableFuture<Slot> mine = new CompletableFuture<>();
+        CompletableFuture<Slot> pending = loading.putIfAbsent(productId, mine);
+        if (pending != null) {
+            try {
+                return pending.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            Slot loaded = slots.get(productId);
+            if (loaded == null) {
+                loaded = load(productId);
+                slots.put(productId, loaded);
+            }
+            mine.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(productId, mine);
+        }
+    }
+
+    private Slot load(Long productId) {
+        LedgerStock stock = productRepository.findLedgerStockById(productId)
+                .orElseThrow(() -> new ProductNotFoundException("존재하지 않는 상품입니다."));
+        return new Slot(stock.getStock() - stock.getUnsynced() - stock.getHeld(), stock.getHeld());
+    }
+
+    // 기동 시 웹 서버가 요청을 받기 전에 이전 프로세스가 반영하지 못한 판매 수량을 먼저 DB에 반영한다
+    // 원장은 DB 재고에서 미반영 수량을 빼서 계산하므로 반영 후에도 이미 만든 원장 값은 그대로 맞다
+    public void reconcile() {
+        int total = flush();
+        if (total > 0) {
+            log.info("재고 원장 복구: 미반영 주문 {}건을 재고에 반영", total);
+        }
+    }
+
+    @Override
+    public void start() {
+        reconcile();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // 웹 서버(WebServerStartStopLifecycle)보다 낮은 단계라 먼저 시작한다. @Scheduled 작업은 이후 컨텍스트 갱신 완료 시 등록된다
+    @Override
+    public int getPhase() {
+        return RECONCILE_PHASE;
+    }
+
+    @Scheduled(fixedDelayString = "${market.inventory.ledger.flush-interval-ms:500}")
+    public void flushPending() {
+        flush();
+    }
+
+    public int flush() {
+        int total = 0;
+        int flushed;
+        do {
+            flushed = transactionTemplate.execute(status -> flushBatch());
+            total += flushed;
+        } while (flushed == flushBatchSize);
+        return total;
+    }
+
+    private int flushBatch() {
+        List<UnsyncedStock> rows = orderRepository.findUnsyncedStock(PageRequest.of(0, flushBatchSize));
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        // 상품 id 순서로 갱신해 노드 내 잠금 순서를 고정한다
+        Map<Long, Long> decreases = new TreeMap<>();
+        List<Long> orderIds = new ArrayList<>(rows.size());
+        for (UnsyncedStock row : rows) {
+            orderIds.add(row.getId());
+            if (row.getProductId() != null) {
+                decreases.merge(row.getProductId(), row.getQuantity(), Long::sum);
+            }
+        }
+
+        decreases.forEach((productId, quantity) -> {
+            int amount = Math.toIntExact(quantity);
+            if (productRepository.decreaseStock(productId, amount, ProductStatus.SOLD_OUT) == 0
+                    && productRepository.clearStock(productId, amount, ProductStatus.SOLD_OUT) > 0) {
+                // 이미 승인된 판매라 되돌릴 수 없다. 초과 판매된 수량을 확인할 수 있도록 남긴다
+                log.warn("재고 원장 반영: 상품 {}의 판매 수량 {}이 재고보다 많아 재고를 0으로 맞춤", productId, amount);
+                evict(productId);
+            }
+            eventPublisher.publishEvent(new ProductChangedEvent(productId));
+        });
+        orderRepository.markStockSynced(orderIds);
+        return rows.size();
+    }
+
+    private static void onRollback(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+    private static void onCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,16 @@
+-- 리포지토리 조회 조건마다 인덱스를 둔다. QueryPlanTest가 EXPLAIN으로 전체 스캔이 없는지 확인한다
+
+-- ProductRepository.findByStatus, findPageByStatusAfter (id 순서 페이지까지 인덱스로 처리)
+create index ix_product_status on product (status, product_id);
+-- ProductRepository.findBySeller, 판매 집계/주문 내보내기의 판매자 조건
+create index ix_product_seller on product (seller_id);
+
+-- OrderRepository.findByBuyer, findResponsesByBuyerId
+create index ix_orders_buyer on orders (buyer_id, id);
+-- OrderRepository.findByProduct, findResponsesByProductId, sumQuantityByProductIdAndStatus (product_id 단독 조건도 사용)
+create index ix_orders_product_status on orders (product_id, status);
+-- 재고 원장 flush: 미반영 주문은 소수라 선택도가 높고, id 순서로 읽는다
+create index ix_orders_stock_synced on orders (stock_synced, id);
+
+-- MemberRepository.findByUsername. 같은 아이디로 중복 가입하지 못하게 유일 제약으로 둔다
+alter table member add constraint ux_member_username unique (username);
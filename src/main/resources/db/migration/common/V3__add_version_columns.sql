@@ -0,0 +1,3 @@
+-- Product, Orders 낙관적 잠금(@Version). 기존 행은 0부터 시작한다
+alter table product add column version bigint default 0 not null;
+alter table orders add column version bigint default 0 not null;
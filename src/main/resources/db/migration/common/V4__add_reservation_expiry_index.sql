@@ -0,0 +1,5 @@
+-- OrderRepository.findExpiredReservations: 오래된 예약부터 created_date 범위로 읽는다
+create index ix_orders_status_created on orders (status, created_date);
+
+-- JPA Auditing을 켜기 전에 만든 주문은 created_date가 비어 있다. 남아 있는 예약은 지금부터 만료 시간을 센다
+update orders set created_date = current_timestamp where created_date is null and status = 'RESERVED';
@@ -0,0 +1,43 @@
+-- Flyway 도입 전에 추가한 매핑: 풀링 시퀀스 id, 재고 원장 반영 여부, 리프레시 토큰, 상품별 판매 집계
+-- 테스트의 메모리 DB뿐 아니라 ddl-auto로 만들어 둔 기존 H2(docker-compose의 파일 DB)를 기준선으로 올린 뒤에도 적용된다
+
+-- pooled 최적화는 시퀀스 값에서 99를 뺀 값부터 쓰므로 기존 최대 id + 100에서 시작해야 기존 행과 겹치지 않는다. 빈 테이블은 1부터
+create sequence member_seq start with (select coalesce(max(member_id) + 100, 1) from member) increment by 100;
+create sequence product_seq start with (select coalesce(max(product_id) + 100, 1) from product) increment by 100;
+create sequence orders_seq start with (select coalesce(max(id) + 100, 1) from orders) increment by 100;
+create sequence refresh_token_seq start with 1 increment by 100;
+
+-- 재고 원장을 쓰기 전 주문은 이미 재고에 반영되어 있다
+alter table orders add column stock_synced boolean default true not null;
+
+-- 상품이 삭제되어도 주문 내역은 남기고 상품만 비운다 (주문 목록은 '존재하지 않는 상품'으로 표시)
+-- 기존 FK 이름은 DB마다 다르고(ddl-auto로 만든 DB는 Hibernate가 지은 FK...) H2 스크립트에서는 이름을 조회해 동적으로 지울 수 없다.
+-- 단일 컬럼 제약은 컬럼과 함께 지워지므로 product_id를 새 컬럼으로 옮겨 이름과 상관없이 기존 FK를 없앤다
+alter table orders add column product_ref bigint before buyer_id;
+update orders set product_ref = product_id;
+alter table orders drop column product_id;
+alter table orders alter column product_ref rename to product_id;
+alter table orders add constraint fk_orders_product foreign key (product_id) references product (product_id) on delete set null;
+
+create table refresh_token (
+    id bigint not null,
+    token_hash varchar(43) not null,
+    family varchar(36) not null,
+    member_id bigint not null,
+    expires_at timestamp(6) with time zone not null,
+    revoked boolean not null,
+    primary key (id),
+    constraint ux_refresh_token_hash unique (token_hash)
+);
+create index ix_refresh_token_family on refresh_token (family);
+
+-- 기존 상품의 집계 행은 첫 예약 때 만들어지고 이전 주문은 ProductSalesService.rebuild가 반영한다
+create table product_sales (
+    product_id bigint not null,
+    reserved_count bigint not null,
+    reserved_quantity bigint not null,
+    sold_count bigint not null,
+    sold_quantity bigint not null,
+    revenue bigint not null,
+    primary key (product_id)
+);
@@ -0,0 +1,35 @@
+-- Flyway 도입 전 스키마(ddl-auto로 만들던 원래 엔티티 매핑). 기존 DB는 baseline-on-migrate로 이 버전을 기준선으로 기록하고
+-- 다음 버전부터 적용하므로 이 파일은 바꾸지 않는다. 엔티티를 바꾸면 새 버전 파일을 추가한다
+
+create table member (
+    member_id bigint generated by default as identity,
+    username varchar(255),
+    password varchar(255),
+    role enum ('ADMIN','SELLER','BUYER'),
+    primary key (member_id)
+);
+
+create table product (
+    product_id bigint generated by default as identity,
+    name varchar(255),
+    price bigint,
+    status enum ('FOR_SALE','RESERVED','SOLD_OUT'),
+    seller_id bigint,
+    stock integer default 0 not null,
+    primary key (product_id),
+    constraint fk_product_seller foreign key (seller_id) references member (member_id)
+);
+
+create table orders (
+    id bigint generated by default as identity,
+    created_date timestamp(6),
+    last_modified_date timestamp(6),
+    product_id bigint,
+    buyer_id bigint,
+    status enum ('RESERVED','COMPLETED','CANCELED'),
+    quantity bigint not null,
+    total_price bigint not null,
+    primary key (id),
+    constraint fk_orders_product foreign key (product_id) references product (product_id),
+    constraint fk_orders_buyer foreign key (buyer_id) references member (member_id)
+);
@@ -0,0 +1,21 @@
+-- 주문 상태 변경 아웃박스. 릴레이가 id 순서로 읽으므로 INSERT 순서대로 증가하는 IDENTITY를 쓴다
+create table outbox_event (
+    id bigint generated by default as identity,
+    aggregate_type varchar(50) not null,
+    aggregate_id bigint not null,
+    event_type varchar(50) not null,
+    payload varchar(4000) not null,
+    created_at timestamp(6) not null,
+    primary key (id)
+);
+
+-- 릴레이가 마지막으로 전달한 outbox_event.id. 릴레이 한 곳만 이 행을 잠그고 전달한다
+create table outbox_checkpoint (
+    name varchar(50) not null,
+    last_id bigint not null,
+    delivered bigint not null,
+    updated_at timestamp(6),
+    primary key (name)
+);
+
+insert into outbox_checkpoint (name, last_id, delivered) values ('orders', 0, 0);
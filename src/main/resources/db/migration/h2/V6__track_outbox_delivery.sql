@@ -0,0 +1,8 @@
+-- 전달 여부를 행마다 기록한다. id 커서는 먼저 id를 받고 늦게 커밋된 이벤트를 건너뛸 수 있다
+-- 체크포인트 이하의 이벤트는 이미 전달되었다
+alter table outbox_event add column published_at timestamp(6);
+update outbox_event set published_at = created_at
+where id <= (select last_id from outbox_checkpoint where name = 'orders');
+
+-- 미전달(published_at is null) 이벤트를 id 순서로, 전달한 이벤트를 전달 시각 순서로 찾는다
+create index ix_outbox_event_published on outbox_event (published_at, id);
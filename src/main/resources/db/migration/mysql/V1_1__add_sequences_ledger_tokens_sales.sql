@@ -0,0 +1,49 @@
+-- Flyway 도입 전에 추가한 매핑: 풀링 시퀀스 id, 재고 원장 반영 여부, 리프레시 토큰, 상품별 판매 집계
+
+-- 시퀀스가 없는 MySQL에서는 Hibernate가 시퀀스 이름의 테이블(next_val)로 id를 할당한다 (allocationSize 100)
+-- pooled 최적화는 읽은 값에서 99를 뺀 값부터 쓰므로 기존 최대 id + 100에서 시작해야 기존 행과 겹치지 않는다. 빈 테이블은 1부터
+create table member_seq (next_val bigint) engine=InnoDB;
+insert into member_seq select coalesce(max(member_id) + 100, 1) from member;
+create table product_seq (next_val bigint) engine=InnoDB;
+insert into product_seq select coalesce(max(product_id) + 100, 1) from product;
+create table orders_seq (next_val bigint) engine=InnoDB;
+insert into orders_seq select coalesce(max(id) + 100, 1) from orders;
+create table refresh_token_seq (next_val bigint) engine=InnoDB;
+insert into refresh_token_seq values (1);
+
+-- 재고 원장을 쓰기 전 주문은 이미 재고에 반영되어 있다
+alter table orders add column stock_synced bit default 1 not null;
+
+-- 상품이 삭제되어도 주문 내역은 남기고 상품만 비운다 (주문 목록은 '존재하지 않는 상품'으로 표시)
+-- ddl-auto가 만든 DB는 외래 키 이름이 자동 생성되었으므로 이름을 찾아서 지운다
+set @fk_orders_product = (select constraint_name from information_schema.key_column_usage
+                          where table_schema = database() and table_name = 'orders'
+                            and column_name = 'product_id' and referenced_table_name = 'product' limit 1);
+set @drop_fk_orders_product = concat('alter table orders drop foreign key `', @fk_orders_product, '`');
+prepare drop_fk_orders_product from @drop_fk_orders_product;
+execute drop_fk_orders_product;
+deallocate prepare drop_fk_orders_product;
+alter table orders add constraint fk_orders_product foreign key (product_id) references product (product_id) on delete set null;
+
+create table refresh_token (
+    id bigint not null,
+    token_hash varchar(43) not null,
+    family varchar(36) not null,
+    member_id bigint not null,
+    expires_at datetime(6) not null,
+    revoked bit not null,
+    primary key (id),
+    constraint ux_refresh_token_hash unique (token_hash)
+) engine=InnoDB;
+create index ix_refresh_token_family on refresh_token (family);
+
+-- 기존 상품의 집계 행은 첫 예약 때 만들어지고 이전 주문은 ProductSalesService.rebuild가 반영한다
+create table product_sales (
+    product_id bigint not null,
+    reserved_count bigint not null,
+    reserved_quantity bigint not null,
+    sold_count bigint not null,
+    sold_quantity bigint not null,
+    revenue bigint not null,
+    primary key (product_id)
+) engine=InnoDB;
@@ -0,0 +1,35 @@
+// 액세스 토큰이 만료되어 요청이 거절되면 리프레시 토큰 쿠키로 새 토큰을 받아 한 번 다시 요청한다
+(function () {
+    const originalFetch = window.fetch.bind(window);
+    let refreshing = null;
+
+    function refreshAccessToken() {
+        if (!refreshing) {
+            refreshing = originalFetch('/auth/refresh', { method: 'POST', credentials: 'same-origin' })
+                .then(response => response.ok ? response.json() : null)
+                .then(result => {
+                    if (!result) {
+                        sessionStorage.removeItem('authToken');
+                        return null;
+                    }
+                    sessionStorage.setItem('authToken', result.jwt);
+                    return result.jwt;
+                })
+                .finally(() => { refreshing = null; });
+        }
+        return refreshing;
+    }
+
+    window.fetch = function (input, init) {
+        return originalFetch(input, init).then(response => {
+            const headers = init && init.headers;
+            const authenticated = headers && headers['Authorization'];
+            if (!authenticated || (response.status !== 401 && response.status !== 403)) {
+                return response;
+            }
+            return refreshAccessToken().then(token => token
+                ? originalFetch(input, { ...init, headers: { ...headers, 'Authorization': `Bearer ${token}` } })
+                : response);
+        });
+    };
+})();
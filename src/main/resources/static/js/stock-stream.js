@@ -0,0 +1,81 @@
+// 상품 재고/상태 변경 구독 (SSE). onDeltas는 [{id, stock, status}] 또는 [{id, deleted: true}] 배열을 받는다
+// EventSource는 Authorization 헤더를 보낼 수 없으므로 token을 넘기면 fetch로 스트림을 읽는다. 끊기면 다시 연결한다
+function subscribeStock(url, onDeltas, token) {
+    let closed = false;
+    let source = null;
+    let controller = null;
+
+    function dispatch(block) {
+        let name = 'message';
+        const data = [];
+        block.split('\n').forEach(line => {
+            if (line.startsWith('event:')) {
+                name = line.slice(6).trim();
+            } else if (line.startsWith('data:')) {
+                data.push(line.slice(5).replace(/^ /, ''));
+            }
+        });
+        if (name === 'stock' && data.length) {
+            onDeltas(JSON.parse(data.join('\n')));
+        }
+    }
+
+    function connect() {
+        if (closed) {
+            return;
+        }
+        if (!token) {
+            source = new EventSource(url);  // 다시 연결은 EventSource가 처리한다
+            source.addEventListener('stock', event => onDeltas(JSON.parse(event.data)));
+            return;
+        }
+        controller = new AbortController();
+        fetch(url, {
+            headers: { 'Authorization': `Bearer ${token()}`, 'Accept': 'text/event-stream' },
+            signal: controller.signal
+        })
+            .then(response => {
+                if (!response.ok) {
+                    throw new Error(`stock stream ${response.status}`);
+                }
+                const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+                let buffer = '';
+                function read() {
+                    return reader.read().then(({ value, done }) => {
+                        if (done) {
+                            return;
+                        }
+                        buffer += value;
+                        let end;
+                        while ((end = buffer.indexOf('\n\n')) >= 0) {
+                            dispatch(buffer.slice(0, end));
+                            buffer = buffer.slice(end + 2);
+                        }
+                        return read();
+                    });
+                }
+                return read();
+            })
+            .catch(error => {
+                if (!closed) {
+                    console.error('Error:', error);
+                }
+            })
+            .finally(() => {
+                if (!closed) {
+                    setTimeout(connect, 3000);
+                }
+            });
+    }
+
+    connect();
+    return function close() {
+        closed = true;
+        if (source) {
+            source.close();
+        }
+        if (controller) {
+            controller.abort();
+        }
+    };
+}
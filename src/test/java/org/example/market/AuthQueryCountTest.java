@@ -0,0 +1,156 @@
+package org.example.market;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.example.market.controller.dto.BuyProductRequest;
+import org.example.market.domain.Member;
+import org.example.market.domain.Product;
+import org.example.market.jwt.JwtUtil;
+import org.example.market.jwt.MemberPrincipal;
+import org.example.market.repository.MemberRepository;
+import org.example.market.repository.ProductRepository;
+import org.example.market.service.MemberService;
+import org.example.market.service.OrderService;
+import org.example.market.service.ProductService;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+import static org.example.market.domain.Member.Role.BUYER;
+import static org.example.market.domain.Member.Role.SELLER;
+import static org.example.market.domain.Product.ProductStatus.FOR_SALE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+@SpringBootTest
+@Transactional
+class AuthQueryCountTest {
+    // member를 주 테이블로 읽는 SQL. 상품을 읽으며 판매자를 조인하는 SQL(from product ... join member)은 해당하지 않는다
+    private static final Pattern MEMBER_SELECT = Pattern.compile("^\\s*select\\b.*?\\bfrom\\s+member\\b",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    @Autowired
+    private WebApplicationContext wac;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private MemberService memberService;
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private MemberQueries memberQueries;
+
+    private MockMvc mockMvc;
+    private Statistics statistics;
+    private Member buyer;
+    private Product product;
+
+    // Hibernate가 JDBC로 보내기 직전의 SQL 중 회원 조회만 센다
+    static class MemberQueries implements StatementInspector {
+        private final AtomicInteger count = new AtomicInteger();
+
+        int reset() {
+            return count.getAndSet(0);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (MEMBER_SELECT.matcher(sql).find()) {
+                count.incrementAndGet();
+            }
+            return sql;
+        }
+    }
+
+    @TestConfiguration
+    static class MemberQueriesConfig {
+        @Bean
+        MemberQueries memberQueries() {
+            return new MemberQueries();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer memberQueriesInspector(MemberQueries memberQueries) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, memberQueries);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = webAppContextSetup(wac).apply(springSecurity()).build();
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        Member seller = memberRepository.save(Member.builder().username("querySeller").password("password").role(SELLER).build());
+        buyer = memberRepository.save(Member.builder().username("queryBuyer").password("password").role(BUYER).build());
+        product = productRepository.save(new Product("Query Product", 100L, FOR_SALE, seller, 10));
+        entityManager.flush();
+    }
+
+    @Test
+    @DisplayName("/order/{id}/reserve - 인증된 회원을 조회하지 않는다")
+    void reserveQueryCountTest() throws Exception {
+        // given
+        String token = jwtUtil.generateToken(MemberPrincipal.from(buyer));
+        BuyProductRequest request = new BuyProductRequest();
+        request.setPrice(100L);
+        request.setQuantity(1L);
+
+        // 변경 전 흐름: 필터의 loadUserByUsername과 컨트롤러의 findByUsername이 각각 member를 조회했다
+        entityManager.clear();
+        statistics.clear();
+        memberQueries.reset();
+        memberService.loadUserByUsername(buyer.getUsername());
+        Member legacyBuyer = memberService.findByUsername(buyer.getUsername()).orElseThrow();
+        orderService.reserveProduct(productService.findById(product.getId()).orElseThrow(), legacyBuyer, 100L, 1L);
+        entityManager.flush();
+        long legacyStatements = statistics.getPrepareStatementCount();
+        int legacyMemberQueries = memberQueries.reset();
+
+        // when
+        entityManager.clear();
+        statistics.clear();
+        memberQueries.reset();
+        mockMvc.perform(post("/order/{id}/reserve", product.getId())
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+        entityManager.flush();
+        long statements = statistics.getPrepareStatementCount();
+        int memberSelects = memberQueries.reset();
+
+        // then
+        assertEquals(2, legacyMemberQueries);
+        assertEquals(0, memberSelects);
+        assertTrue(statements < legacyStatements);
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.market;
+
+class PlatformThreadLoadBenchmarkTest extends ThreadModelLoadBenchmark {
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
@@ -0,0 +1,154 @@
+package org.example.market;
+
+import org.example.market.domain.Member;
+import org.example.market.domain.Product;
+import org.example.market.jwt.JwtUtil;
+import org.example.market.jwt.MemberPrincipal;
+import org.example.market.repository.MemberRepository;
+import org.example.market.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.example.market.domain.Member.Role.BUYER;
+import static org.example.market.domain.Member.Role.SELLER;
+import static org.example.market.domain.Product.ProductStatus.FOR_SALE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 플랫폼 스레드와 가상 스레드 실행 모드의 p99 지연 시간과 처리량 비교. ./gradlew benchmarkTest -PjavaVersion=21 로 실행한다.
+ * 두 모드 모두 연결 풀을 10개로 줄이고 동시 요청 수를 그보다 훨씬 크게 잡아 JDBC 대기 중의 스레드 점유를 드러낸다.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:load-${random.uuid};MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.hikari.maximum-pool-size=10",
+        "server.tomcat.threads.max=50",
+        "market.rate-limit.enabled=false",   // 모든 요청이 같은 주소에서 오므로 요청 제한을 끈다
+        "logging.level.org.hibernate.SQL=warn",
+        "logging.level.org.hibernate.type=warn",
+        "logging.level.org.springframework.security=warn"
+})
+abstract class ThreadModelLoadBenchmark {
+    private static final int CONCURRENCY = 500;
+    private static final int REQUESTS_PER_CLIENT = 40;
+    private static final int WARMUP_REQUESTS = 2_000;
+
+    @LocalServerPort
+    private int port;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final HttpClient client = HttpClient.newBuilder().executor(Executors.newFixedThreadPool(32)).build();
+    private Product product;
+    private String token;
+
+    abstract String mode();
+
+    @BeforeEach
+    void setUp() {
+        String suffix = Long.toString(System.nanoTime());
+        Member seller = memberRepository.save(Member.builder().username("loadSeller" + suffix).password("password").role(SELLER).build());
+        Member buyer = memberRepository.save(Member.builder().username("loadBuyer" + suffix).password("password").role(BUYER).build());
+        product = productRepository.save(new Product("Load Product", 100L, FOR_SALE, seller, 1_000_000));
+        token = jwtUtil.generateToken(MemberPrincipal.from(buyer));
+    }
+
+    @Test
+    @DisplayName("상품 상세 조회 부하")
+    void productDetailLoad() throws Exception {
+        run("GET /product/{id}", () -> HttpRequest.newBuilder(uri("/product/" + product.getId()))
+                .header("Authorization", "Bearer " + token)
+                .GET().build());
+    }
+
+    @Test
+    @DisplayName("상품 예약 부하")
+    void reserveLoad() throws Exception {
+        run("POST /order/{id}/reserve", () -> HttpRequest.newBuilder(uri("/order/" + product.getId() + "/reserve"))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"price\":100,\"quantity\":1}")).build());
+    }
+
+    private void run(String label, RequestFactory requests) throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            client.send(requests.create(), HttpResponse.BodyHandlers.discarding());
+        }
+
+        int total = CONCURRENCY * REQUESTS_PER_CLIENT;
+        long[] latencies = new long[total];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(CONCURRENCY);
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+
+        for (int c = 0; c < CONCURRENCY; c++) {
+            clients.submit(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < REQUESTS_PER_CLIENT; i++) {
+                        long sentAt = System.nanoTime();
+                        HttpResponse<Void> response = client.send(requests.create(), HttpResponse.BodyHandlers.discarding());
+                        latencies[next.getAndIncrement()] = System.nanoTime() - sentAt;
+                        if (response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                } catch (Exception e) {
+                    failures.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        assertTrue(done.await(5, TimeUnit.MINUTES));
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        clients.shutdown();
+
+        long[] completed = Arrays.copyOf(latencies, next.get());
+        Arrays.sort(completed);
+        System.out.printf("[%s] %s: 동시 %d, %d건, %.0f req/s, p50 %.1fms, p99 %.1fms, 실패 %d%n",
+                mode(), label, CONCURRENCY, completed.length, completed.length / seconds,
+                percentile(completed, 0.50), percentile(completed, 0.99), failures.get());
+        assertEquals(0, failures.get());
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    @FunctionalInterface
+    private interface RequestFactory {
+        HttpRequest create();
+    }
+}
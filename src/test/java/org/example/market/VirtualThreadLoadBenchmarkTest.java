@@ -0,0 +1,14 @@
+package org.example.market;
+
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.test.context.ActiveProfiles;
+
+@EnabledForJreRange(min = JRE.JAVA_21)
+@ActiveProfiles({"test", "virtual"})
+class VirtualThreadLoadBenchmarkTest extends ThreadModelLoadBenchmark {
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.market.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.market.domain.Member;
+import org.example.market.domain.Product;
+import org.example.market.jwt.JwtUtil;
+import org.example.market.jwt.MemberPrincipal;
+import org.example.market.repository.MemberRepository;
+import org.example.market.repository.ProductRepository;
+import org.example.market.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.example.market.domain.Member.Role.BUYER;
+import static org.example.market.domain.Member.Role.SELLER;
+import static org.example.market.domain.Product.ProductStatus.FOR_SALE;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:export-${random.uuid};MODE=MySQL;DB_CLOSE_DELAY=-1")
+class OrderExportControllerTest {
+    @Autowired
+    private WebApplicationContext wac;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JwtUtil jwtUtil;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderService orderService;
+
+    private MockMvc mockMvc;
+    private String sellerToken;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = webAppContextSetup(wac).apply(springSecurity()).build();
+        String suffix = String.valueOf(System.nanoTime());
+        Member seller = memberRepository.save(Member.builder().username("exportSeller" + suffix).password("password").role(SELLER).build());
+        Member buyer = memberRepository.save(Member.builder().username("exportBuyer" + suffix).password("password").role(BUYER).build());
+        product = productRepository.save(new Product("Export, Product", 100L, FOR_SALE, seller, 10));
+        orderService.reserveProduct(product, buyer, 100L, 2L);
+        sellerToken = "Bearer " + jwtUtil.generateToken(MemberPrincipal.from(seller));
+    }
+
+    @Test
+    @DisplayName("/order/export - CSV 본문을 비동기로 스트리밍한다")
+    void exportCsvTest() throws Exception {
+        // when
+        MvcResult started = mockMvc.perform(get("/order/export").param("format", "csv")
+                        .header(HttpHeaders.AUTHORIZATION, sellerToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString(".csv")))
+                .andReturn();
+
+        // then
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].endsWith("order_id,product_id,product_name,buyer_id,status,quantity,total_price,created_date"));
+        assertTrue(lines[1].contains("," + product.getId() + ",\"Export, Product\","));
+        assertTrue(lines[1].contains(",RESERVED,2,200,"));
+    }
+
+    @Test
+    @DisplayName("/order/export - NDJSON은 한 줄에 주문 하나를 스트리밍한다")
+    void exportNdjsonTest() throws Exception {
+        // when
+        MvcResult started = mockMvc.perform(get("/order/export").param("format", "ndjson")
+                        .header(HttpHeaders.AUTHORIZATION, sellerToken))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn();
+
+        // then
+        String[] lines = result.getResponse().getContentAsString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(1, lines.length);
+        JsonNode row = objectMapper.readTree(lines[0]);
+        assertEquals(product.getId(), row.get("productId").asLong());
+        assertEquals("RESERVED", row.get("status").asText());
+    }
+
+    @Test
+    @DisplayName("/order/export - 지원하지 않는 형식은 400")
+    void exportUnsupportedFormatTest() throws Exception {
+        mockMvc.perform(get("/order/export").param("format", "xml")
+                        .header(HttpHeaders.AUTHORIZATION, sellerToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("xml")));
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.market.controller;
+
+import org.example.market.controller.dto.ProductUpdateRequest;
+import org.example.market.domain.Member;
+import org.example.market.domain.Product;
+import org.example.market.repository.MemberRepository;
+import org.example.market.repository.ProductRepository;
+import org.example.market.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.example.market.domain.Member.Role.SELLER;
+import static org.example.market.domain.Product.ProductStatus.FOR_SALE;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stream-${random.uuid};MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "market.product.stream.flush-interval-ms=50"
+})
+class ProductStreamControllerTest {
+    @Autowired
+    private WebApplicationContext wac;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private ProductService productService;
+
+    private MockMvc mockMvc;
+    private Member seller;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = webAppContextSetup(wac).apply(springSecurity()).build();
+        seller = memberRepository.save(Member.builder().username("streamSeller" + System.nanoTime()).password("password").role(SELLER).build());
+        product = productRepository.save(new Product("Stream Product", 100L, FOR_SALE, seller, 10));
+    }
+
+    @Test
+    @DisplayName("/product/stream - text/event-stream으로 연결 이벤트를 보내고, 재고가 바뀌면 stock 이벤트를 보낸다")
+    void streamProductsTest() throws Exception {
+        // when
+        MvcResult started = mockMvc.perform(get("/product/stream").param("ids", String.valueOf(product.getId()))
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andReturn();
+        MockHttpServletResponse response = started.getResponse();
+
+        try {
+            // then
+            assertTrue(awaitContent(response, ":connected").contains("retry:"));
+
+            ProductUpdateRequest update = new ProductUpdateRequest();
+            update.setName(product.getName());
+            update.setPrice(product.getPrice());
+            update.setStock(7);
+            productService.updateProduct(product.getId(), update, seller);
+
+            String body = awaitContent(response, "event:stock");
+            assertTrue(body.contains("\"id\":" + product.getId()) && body.contains("\"stock\":7"), body);
+        } finally {
+            started.getRequest().getAsyncContext().complete();
+        }
+    }
+
+    @Test
+    @DisplayName("/product/stream - 상품 id가 너무 많거나 숫자가 아니면 400")
+    void streamProductsBadIdsTest() throws Exception {
+        String tooMany = LongStream.rangeClosed(1, 501).mapToObj(String::valueOf).collect(Collectors.joining(","));
+        mockMvc.perform(get("/product/stream").param("ids", tooMany).accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string(containsString("500")));
+        mockMvc.perform(get("/product/stream").param("ids", "abc").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+    }
+
+    // 전송은 별도 스레드에서 일어나므로 기대한 내용이 쓰일 때까지 기다린다
+    private static String awaitContent(MockHttpServletResponse response, String expected)
+            throws UnsupportedEncodingException, InterruptedException {
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        String content = response.getContentAsString(StandardCharsets.UTF_8);
+        while (!content.contains(expected) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+            content = response.getContentAsString(StandardCharsets.UTF_8);
+        }
+        assertTrue(content.contains(expected), content);
+        return content;
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.market.datasource;
+
+import org.example.market.controller.dto.ProductDetailResponse;
+import org.example.market.domain.Member;
+import org.example.market.domain.Product;
+import org.example.market.jwt.JwtUtil;
+import org.example.market.jwt.MemberPrincipal;
+import org.example.market.repository.ProductRepository;
+import org.example.market.service.ProductService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.List;
+
+import static org.example.market.domain.Product.ProductStatus.FOR_SALE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.setup.MockMvcBuilders.webAppContextSetup;
+
+/**
+ * 복제가 없는 H2 두 개를 기본 DB와 복제본으로 두고, 같은 id의 상품 이름을 다르게 넣어 어느 쪽에서 읽었는지 확인한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaRoutingTest.PRIMARY_URL,
+        "market.datasource.routing.enabled=true",
+        "market.datasource.routing.migrate-replicas=true",
+        "market.datasource.routing.read-your-writes-window=1m",
+        "market.datasource.routing.replicas[0].url=" + ReplicaRoutingTest.REPLICA_URL
+})
+class ReplicaRoutingTest {
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final String INSERT = "insert into product (product_id, name, price, status, stock) values (?, ?, 1000, 'FOR_SALE', 1)";
+    private static final String INSERT_SELLER = "insert into member (member_id, username, role) values (-1, ?, 'SELLER')";
+    private static final String INSERT_SOLD = "insert into product (product_id, name, price, status, stock, seller_id) values (-2, ?, 1000, 'FOR_SALE', 1, -1)";
+    private static final String INSERT_BUYER = "insert into member (member_id, username, role) values (-3, 'routingBuyer', 'BUYER')";
+    private static final String COUNT_ORDERS = "select count(*) from orders where product_id = -2";
+
+    @Autowired
+    private ProductService productService;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private WebApplicationContext wac;
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    private final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @BeforeEach
+    void setUp() {
+        primary.update(INSERT, -1L, "primary");
+        replica.update(INSERT, -1L, "replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        for (JdbcTemplate db : List.of(primary, replica)) {
+            db.update("delete from orders where product_id = -2");
+            db.update("delete from product_sales where product_id = -2");
+            db.update("delete from product where product_id in (-1, -2)");
+            db.update("delete from member where member_id in (-1, -3)");
+        }
+    }
+
+    @Test
+    @DisplayName("읽기 전용 트랜잭션은 복제본, 쓰기 트랜잭션은 기본 DB에서 읽는다")
+    void routeByReadOnlyTest() {
+        // when
+        List<Product> readOnly = productService.findByStatus(FOR_SALE);
+        List<Product> readWrite = transactionTemplate.execute(status -> productRepository.findByStatus(FOR_SALE));
+
+        // then
+        assertEquals(List.of("replica"), names(readOnly));
+        assertEquals(List.of("primary"), names(readWrite));
+    }
+
+    @Test
+    @DisplayName("쓰기를 커밋한 회원은 일관성 구간 동안 기본 DB에서 읽고, 다른 회원은 계속 복제본에서 읽는다")
+    void readYourWritesTest() {
+        // given
+        authenticate(1L);
+        transactionTemplate.executeWithoutResult(status -> productRepository.count());
+
+        // when
+        List<Product> writer = productService.findByStatus(FOR_SALE);
+        authenticate(2L);
+        List<Product> other = productService.findByStatus(FOR_SALE);
+
+        // then
+        assertEquals(List.of("primary"), names(writer));
+        assertEquals(List.of("replica"), names(other));
+    }
+
+    @Test
+    @DisplayName("상품 상세 캐시는 읽기 전용 조회여도 기본 DB에서 채운다 (복제 지연된 값을 캐시하지 않는다)")
+    void detailCacheLoadsFromPrimaryTest() {
+        // given: 복제본에는 아직 변경 전 이름이 남아 있다
+        primary.update(INSERT_SELLER, "seller");
+        replica.update(INSERT_SELLER, "seller");
+        primary.update(INSERT_SOLD, "updated");
+        replica.update(INSERT_SOLD, "stale");
+
+        // when
+        ProductDetailResponse detail = productService.findDetailById(-2L).orElseThrow();
+
+        // then
+        assertEquals("updated", detail.getName());
+        assertTrue(names(productService.findByStatus(FOR_SALE)).contains("stale"));  // 다른 읽기 전용 조회는 그대로 복제본
+    }
+
+    @Test
+    @DisplayName("한 요청에서 읽기 전용 조회 뒤의 쓰기 트랜잭션은 복제본 커넥션을 이어 쓰지 않고 기본 DB에 쓴다")
+    void readThenWriteInOneRequestTest() throws Exception {
+        // given: 예약 요청은 상품을 읽기 전용으로 조회(복제본)한 뒤 주문을 저장(기본 DB)한다
+        for (JdbcTemplate db : List.of(primary, replica)) {
+            db.update(INSERT_SELLER, "seller");
+            db.update(INSERT_BUYER);
+        }
+        primary.update(INSERT_SOLD, "primary");
+        replica.update(INSERT_SOLD, "replica");
+        MockMvc mockMvc = webAppContextSetup(wac).apply(springSecurity()).build();
+        String token = jwtUtil.generateToken(new MemberPrincipal(-3L, "routingBuyer", null, Member.Role.BUYER));
+
+        // when
+        mockMvc.perform(post("/order/-2/reserve")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"price\":1000,\"quantity\":1}"))
+                .andExpect(status().isOk());
+
+        // then
+        assertEquals(1, primary.queryForObject(COUNT_ORDERS, Integer.class));
+        assertEquals(0, replica.queryForObject(COUNT_ORDERS, Integer.class));
+    }
+
+    private static void authenticate(Long memberId) {
+        MemberPrincipal principal = new MemberPrincipal(memberId, "member" + memberId, null, Member.Role.BUYER);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    private static List<String> names(List<Product> products) {
+        return products.stream().map(Product::getName).toList();
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.market.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.ArrayList;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+    private VerifiedTokenCache verifiedTokenCache;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        verifiedTokenCache = new VerifiedTokenCache(100, new SimpleMeterRegistry());
+        jwtUtil = new JwtUtil(verifiedTokenCache);
+    }
+
+    @Test
+    @DisplayName("토큰 검증 - 두 번째 검증부터는 캐시를 사용한다")
+    void verifyUsesCacheTest() {
+        // given
+        String token = jwtUtil.generateToken(new User("user", "password", new ArrayList<>()));
+
+        // when
+        Optional<Claims> first = jwtUtil.verify(token);
+        Optional<Claims> second = jwtUtil.verify(token);
+
+        // then
+        assertTrue(first.isPresent());
+        assertTrue(second.isPresent());
+        assertEquals("user", second.get().getSubject());
+        assertEquals(1, verifiedTokenCache.stats().missCount());
+        assertEquals(1, verifiedTokenCache.stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("토큰 검증 실패 - 서명이 변조된 토큰")
+    void verifyTamperedTokenTest() {
+        // given
+        String token = jwtUtil.generateToken(new User("user", "password", new ArrayList<>()));
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        // when & then
+        assertTrue(jwtUtil.verify(tampered).isEmpty());
+        assertNull(verifiedTokenCache.get(tampered));
+    }
+}
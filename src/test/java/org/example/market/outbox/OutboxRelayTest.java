@@ -0,0 +1,157 @@
+package org.example.market.outbox;
+
+import org.example.market.domain.Member;
+import org.example.market.domain.OutboxEvent;
+import org.example.market.domain.Product;
+import org.example.market.repository.MemberRepository;
+import org.example.market.repository.OutboxCheckpointRepository;
+import org.example.market.repository.OutboxEventRepository;
+import org.example.market.repository.ProductRepository;
+import org.example.market.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.market.domain.Member.Role.BUYER;
+import static org.example.market.domain.Member.Role.SELLER;
+import static org.example.market.domain.Product.ProductStatus.FOR_SALE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outbox-${random.uuid};MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "market.outbox.enabled=true",
+        "market.outbox.sink=memory",
+        "market.outbox.retention=0s",
+        "market.outbox.relay-interval-ms=3600000"
+})
+class OutboxRelayTest {
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OutboxRelay outboxRelay;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private OutboxCheckpointRepository outboxCheckpointRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @SpyBean
+    private OutboxSink outboxSink;
+
+    private Member seller;
+    private Member buyer;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        outboxRelay.relay();
+        sink().clear();
+        String suffix = String.valueOf(System.nanoTime());
+        seller = memberRepository.save(Member.builder().username("outboxSeller" + suffix).password("password").role(SELLER).build());
+        buyer = memberRepository.save(Member.builder().username("outboxBuyer" + suffix).password("password").role(BUYER).build());
+        product = productRepository.save(new Product("Outbox Product", 100L, FOR_SALE, seller, 10));
+    }
+
+    @Test
+    @DisplayName("예약과 승인이 순서대로 전달되고 체크포인트가 옮겨진 뒤 전달한 이벤트는 정리된다")
+    void relayReservedAndCompletedTest() {
+        // given
+        orderService.reserveProduct(product, buyer, 100L, 2L);
+        outboxRelay.relay();
+        Long orderId = sink().messages().get(0).aggregateId();
+        orderService.approveSale(orderId, seller);
+
+        // when
+        int relayed = outboxRelay.relay();
+
+        // then
+        assertEquals(1, relayed);
+        List<OutboxMessage> messages = sink().messages();
+        assertEquals(List.of("ORDER_RESERVED", "ORDER_COMPLETED"), messages.stream().map(OutboxMessage::eventType).toList());
+        assertTrue(messages.get(0).id() < messages.get(1).id());
+        assertEquals(orderId, messages.get(1).aggregateId());
+        assertTrue(messages.get(1).payload().contains("\"status\":\"COMPLETED\""));
+        assertEquals(messages.get(1).id(), outboxCheckpointRepository.findById(OutboxRelay.CHECKPOINT).orElseThrow().getLastId());
+        assertEquals(0, outboxRelay.relay());
+
+        assertTrue(outboxRelay.cleanup() >= 2);
+        assertEquals(0, outboxEventRepository.count());
+    }
+
+    @Test
+    @DisplayName("싱크가 실패하면 체크포인트를 옮기지 않고 다음 전달에서 같은 이벤트를 다시 보낸다")
+    void redeliverAfterSinkFailureTest() throws IOException {
+        // given
+        orderService.reserveProduct(product, buyer, 100L, 1L);
+        long before = outboxCheckpointRepository.findById(OutboxRelay.CHECKPOINT).orElseThrow().getLastId();
+        doThrow(new IOException("sink down")).doCallRealMethod().when(outboxSink).deliver(anyList());
+
+        // when
+        outboxRelay.relayPending();
+
+        // then
+        assertEquals(before, outboxCheckpointRepository.findById(OutboxRelay.CHECKPOINT).orElseThrow().getLastId());
+        assertTrue(sink().messages().isEmpty());
+
+        assertEquals(1, outboxRelay.relay());
+        assertEquals("ORDER_RESERVED", sink().messages().get(0).eventType());
+        assertTrue(outboxCheckpointRepository.findById(OutboxRelay.CHECKPOINT).orElseThrow().getLastId() > before);
+    }
+
+    @Test
+    @DisplayName("먼저 id를 받고 늦게 커밋된 이벤트도 커밋된 뒤 다음 전달에서 빠짐없이 보낸다")
+    void relayLateCommitTest() throws Exception {
+        // given: 작은 id를 받은 트랜잭션이 커밋하지 않은 사이에 큰 id가 커밋되어 먼저 전달된다
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Long> late = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            OutboxEvent event = outboxEventRepository.saveAndFlush(new OutboxEvent("ORDER", -1L, "ORDER_RESERVED", "{}"));
+            inserted.countDown();
+            await(commit);
+            return event.getId();
+        }));
+        await(inserted);
+        Long earlyId = outboxEventRepository.save(new OutboxEvent("ORDER", -2L, "ORDER_RESERVED", "{}")).getId();
+        assertEquals(1, outboxRelay.relay());
+
+        // when
+        commit.countDown();
+        Long lateId = late.get(10, TimeUnit.SECONDS);
+        int relayed = outboxRelay.relay();
+
+        // then
+        assertTrue(lateId < earlyId);
+        assertEquals(1, relayed);
+        assertEquals(List.of(earlyId, lateId), sink().messages().stream().map(OutboxMessage::id).toList());
+        assertEquals(0, outboxRelay.relay());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private InMemoryOutboxSink sink() {
+        return (InMemoryOutboxSink) outboxSink;
+    }
+}
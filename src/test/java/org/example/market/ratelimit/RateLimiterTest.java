@@ -0,0 +1,84 @@
+package org.example.market.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private SimpleMeterRegistry meterRegistry;
+    private RateLimiter rateLimiter;
+    private RateLimiter.Policy orderPolicy;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties.Policy order = new RateLimitProperties.Policy();
+        order.setPatterns(List.of("/order/**"));
+        order.setCapacity(5);
+        order.setRefillPerSecond(1);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.getPolicies().put("order", order);
+
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new RateLimiter(properties, meterRegistry);
+        orderPolicy = rateLimiter.match(new MockHttpServletRequest("POST", "/order/1/reserve"));
+    }
+
+    @Test
+    @DisplayName("정책 매칭 - 일치하는 경로가 없으면 제한하지 않는다")
+    void matchTest() {
+        assertEquals("order", orderPolicy.getName());
+        assertNull(rateLimiter.match(new MockHttpServletRequest("GET", "/product/all")));
+    }
+
+    @Test
+    @DisplayName("버킷 크기만큼 허용한 뒤 거절하고, 시간이 지나면 다시 허용한다")
+    void burstThenRefillTest() {
+        long now = 1_000 * SECOND;
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, rateLimiter.tryAcquire(orderPolicy, "m:1", now));
+        }
+
+        long wait = rateLimiter.tryAcquire(orderPolicy, "m:1", now);
+        assertEquals(SECOND, wait);
+        assertEquals(0, rateLimiter.tryAcquire(orderPolicy, "m:2", now));  // 다른 회원은 따로 센다
+        assertEquals(0, rateLimiter.tryAcquire(orderPolicy, "m:1", now + wait));
+
+        assertEquals(7.0, meterRegistry.counter("market.ratelimit.requests", "policy", "order", "result", "allowed").count());
+        assertEquals(1.0, meterRegistry.counter("market.ratelimit.requests", "policy", "order", "result", "rejected").count());
+    }
+
+    @Test
+    @DisplayName("동시 요청 - 버킷 크기를 넘겨 허용하지 않는다")
+    void concurrentAcquireTest() throws InterruptedException {
+        long now = 1_000 * SECOND;
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch done = new CountDownLatch(1000);
+        AtomicInteger allowed = new AtomicInteger();
+
+        for (int i = 0; i < 1000; i++) {
+            executor.submit(() -> {
+                if (rateLimiter.tryAcquire(orderPolicy, "m:1", now) == 0) {
+                    allowed.incrementAndGet();
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        assertEquals(5, allowed.get());
+    }
+}
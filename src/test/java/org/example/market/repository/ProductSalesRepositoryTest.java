@@ -0,0 +1,56 @@
+package org.example.market.repository;
+
+import org.example.market.domain.ProductSales;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:sales-${random.uuid};MODE=MySQL;DB_CLOSE_DELAY=-1"
+})
+class ProductSalesRepositoryTest {
+    private static final int THREADS = 8;
+
+    @Autowired
+    private ProductSalesRepository productSalesRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    @DisplayName("집계 행이 없는 상품에 첫 예약이 동시에 들어와도 행 하나에 모두 더해진다")
+    void addReservationWithoutRowTest() throws Exception {
+        // given: 집계 도입 전에 등록되어 집계 행이 없는 상품
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        // when
+        List<Callable<Integer>> reservations = IntStream.range(0, THREADS).<Callable<Integer>>mapToObj(i -> () -> {
+            start.await();
+            return transactionTemplate.execute(status -> productSalesRepository.addReservation(-1L, 1L, 2L));
+        }).toList();
+        List<Future<Integer>> results = reservations.stream().map(executor::submit).toList();
+        start.countDown();
+        for (Future<Integer> result : results) {
+            result.get(10, TimeUnit.SECONDS);   // 중복 키 오류가 나면 여기서 실패한다
+        }
+        executor.shutdown();
+
+        // then
+        ProductSales sales = productSalesRepository.findById(-1L).orElseThrow();
+        assertEquals(THREADS, sales.getReservedCount());
+        assertEquals(THREADS * 2L, sales.getReservedQuantity());
+    }
+}
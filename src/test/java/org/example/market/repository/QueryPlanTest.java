@@ -0,0 +1,168 @@
+package org.example.market.repository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.example.market.domain.Orders.OrderStatus.RESERVED;
+import static org.example.market.domain.Product.ProductStatus.FOR_SALE;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 마이그레이션으로 만든 스키마에서 리포지토리의 조회가 인덱스를 타는지 EXPLAIN으로 확인한다.
+ * 빈 메모리 DB에 Flyway가 V1부터 적용하므로 운영과 같은 DDL을 검사하고,
+ * 리포지토리 메서드를 실제로 호출해 Hibernate가 만든 SQL을 그대로 EXPLAIN한다.
+ * 새 조회를 추가하면 여기에도 추가한다.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:plan-${random.uuid};MODE=MySQL;DB_CLOSE_DELAY=-1"
+})
+class QueryPlanTest {
+    // H2 실행 계획의 테이블 접근 주석. 인덱스를 쓰면 "/* PUBLIC.IX_...: 조건 */", 전체 스캔이면 "/* PUBLIC.ORDERS.tableScan */"
+    private static final Pattern TABLE_ACCESS = Pattern.compile("/\\* PUBLIC\\.([^*]*)\\*/");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private CapturedSql capturedSql;
+
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    // Hibernate가 JDBC로 보내기 직전의 SQL을 모은다. 바인딩 값은 ?로 남는다
+    // 스케줄러(예약 만료 등)가 보내는 SQL이 섞이지 않도록 테스트 스레드의 SQL만 모은다
+    static class CapturedSql implements StatementInspector {
+        private final List<String> statements = new CopyOnWriteArrayList<>();
+        private volatile Thread thread;
+
+        List<String> capture(Runnable call) {
+            statements.clear();
+            thread = Thread.currentThread();
+            try {
+                call.run();
+            } finally {
+                thread = null;
+            }
+            return List.copyOf(statements);
+        }
+
+        @Override
+        public String inspect(String sql) {
+            if (Thread.currentThread() == thread) {
+                statements.add(sql);
+            }
+            return sql;
+        }
+    }
+
+    @TestConfiguration
+    static class CaptureConfig {
+        @Bean
+        CapturedSql capturedSql() {
+            return new CapturedSql();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer statementInspector(CapturedSql capturedSql) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, capturedSql);
+        }
+    }
+
+    static Stream<Arguments> hotQueries() {
+        return Stream.of(
+                query("ProductRepository.findByStatus",
+                        t -> t.productRepository.findByStatus(FOR_SALE)),
+                query("ProductRepository.findPageByStatusAfter",
+                        t -> t.productRepository.findPageByStatusAfter(FOR_SALE, 0L, PageRequest.of(0, 20))),
+                query("ProductRepository.findBySeller",
+                        t -> t.productRepository.findBySeller(t.memberRepository.getReferenceById(1L))),
+                query("ProductRepository.findLedgerStockById",
+                        t -> t.productRepository.findLedgerStockById(1L)),
+                query("OrderRepository.findResponsesByBuyerId",
+                        t -> t.orderRepository.findResponsesByBuyerId(1L)),
+                query("OrderRepository.findResponsesByProductId",
+                        t -> t.orderRepository.findResponsesByProductId(1L)),
+                query("OrderRepository.sumQuantityByProductIdAndStatus",
+                        t -> t.orderRepository.sumQuantityByProductIdAndStatus(1L, RESERVED)),
+                query("OrderRepository.findUnsyncedStock",
+                        t -> t.orderRepository.findUnsyncedStock(PageRequest.of(0, 1000))),
+                query("OrderRepository.findExpiredReservations",
+                        t -> t.orderRepository.findExpiredReservations(LocalDateTime.now(), PageRequest.of(0, 500))),
+                query("OrderRepository.streamExportBySellerId",
+                        t -> consume(t.orderRepository.streamExportBySellerId(1L, null))),
+                query("OutboxEventRepository.findUnpublished",
+                        t -> t.outboxEventRepository.findUnpublished(PageRequest.of(0, 500))),
+                query("OutboxEventRepository.findPublishedIdsBefore",
+                        t -> t.outboxEventRepository.findPublishedIdsBefore(LocalDateTime.now(), PageRequest.of(0, 500))),
+                query("MemberRepository.findByUsername",
+                        t -> t.memberRepository.findByUsername("user")),
+                query("RefreshTokenRepository.findByTokenHash",
+                        t -> t.refreshTokenRepository.findByTokenHash("hash"))
+        );
+    }
+
+    private static Arguments query(String name, Consumer<QueryPlanTest> call) {
+        return Arguments.of(name, call);
+    }
+
+    private static void consume(Stream<?> rows) {
+        try (rows) {
+            rows.forEach(row -> {
+            });
+        }
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("hotQueries")
+    @DisplayName("자주 쓰는 조회는 전체 스캔 없이 인덱스 조건으로 접근한다")
+    void hotQueryUsesIndexTest(String name, Consumer<QueryPlanTest> call) {
+        // given: 빈 DB에서 호출하므로 연관 엔티티 추가 조회 없이 SQL 한 번만 나간다
+        List<String> statements = capturedSql.capture(
+                () -> transactionTemplate.executeWithoutResult(status -> call.accept(this)));
+        assertEquals(1, statements.size(), () -> name + " SQL:\n" + statements);
+        String sql = statements.get(0);
+
+        // when: 바인딩하지 않은 파라미터(?)는 EXPLAIN에서 조건으로만 남는다
+        String plan = jdbcTemplate.queryForObject("explain " + sql, String.class);
+
+        // then
+        Matcher access = TABLE_ACCESS.matcher(plan);
+        int tables = 0;
+        while (access.find()) {
+            tables++;
+            String comment = access.group(1);
+            assertFalse(comment.contains("tableScan"), () -> name + " 전체 스캔:\n" + plan);
+            assertTrue(comment.contains(":"), () -> name + " 인덱스 조건 없이 전체 인덱스 스캔:\n" + plan);
+        }
+        assertTrue(tables > 0, () -> name + " 실행 계획을 해석하지 못했습니다:\n" + plan);
+    }
+}
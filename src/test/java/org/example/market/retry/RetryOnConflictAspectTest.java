@@ -0,0 +1,104 @@
+package org.example.market.retry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.market.domain.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RetryOnConflictAspectTest {
+    private SimpleMeterRegistry meterRegistry;
+    private RetryOnConflictAspect aspect;
+    private ConflictingService target;
+    private ConflictingService proxy;
+
+    static class ConflictingService {
+        int calls;
+        int conflicts;
+
+        @RetryOnConflict(value = "test", maxAttempts = 3, initialBackoffMs = 1, maxBackoffMs = 2)
+        public String update() {
+            calls++;
+            if (calls <= conflicts) {
+                throw new ObjectOptimisticLockingFailureException(Product.class, 42L);
+            }
+            return "ok";
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        aspect = new RetryOnConflictAspect(meterRegistry);
+        target = new ConflictingService();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        proxy = factory.getProxy();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    @DisplayName("충돌하면 다시 실행하고 충돌 횟수와 엔티티별 경합을 기록한다")
+    void retryUntilSuccessTest() {
+        // given
+        target.conflicts = 2;
+
+        // when
+        String result = proxy.update();
+        aspect.refreshHot();
+
+        // then
+        assertEquals("ok", result);
+        assertEquals(3, target.calls);
+        assertEquals(2.0, meterRegistry.counter(RetryOnConflictAspect.DETECTED, "operation", "test", "entity", "Product").count());
+        assertEquals(1.0, meterRegistry.counter(RetryOnConflictAspect.OUTCOME, "operation", "test", "result", "recovered").count());
+        assertEquals(2.0, meterRegistry.get(RetryOnConflictAspect.HOT).tags("entity", "Product", "id", "42").gauge().value());
+    }
+
+    @Test
+    @DisplayName("최대 횟수까지 충돌하면 예외를 그대로 던진다")
+    void retryExhaustedTest() {
+        // given
+        target.conflicts = 10;
+
+        // when & then
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> proxy.update());
+        assertEquals(3, target.calls);
+        assertEquals(1.0, meterRegistry.counter(RetryOnConflictAspect.OUTCOME, "operation", "test", "result", "exhausted").count());
+    }
+
+    @Test
+    @DisplayName("이미 트랜잭션 안이면 바깥 트랜잭션이 롤백 전용이므로 재시도하지 않는다")
+    void noRetryInsideTransactionTest() {
+        // given
+        target.conflicts = 1;
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // when & then
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> proxy.update());
+        assertEquals(1, target.calls);
+    }
+
+    @Test
+    @DisplayName("대기 시간은 지수적으로 늘어난 상한의 절반 이상, 상한 이하다")
+    void backoffTest() {
+        for (int attempt = 1; attempt <= 8; attempt++) {
+            long cap = Math.min(200, 10L << (attempt - 1));
+            for (int i = 0; i < 100; i++) {
+                long backoff = RetryOnConflictAspect.backoff(attempt, 10, 200);
+                assertTrue(backoff >= cap / 2 && backoff <= cap, () -> "backoff=" + backoff + ", cap=" + cap);
+            }
+        }
+    }
+}
@@ -51,6 +51,18 @@ class MemberServiceTest {
         verify(memberRepository, times(1)).save(any(Member.class));
     }
 
+    @Test
+    @DisplayName("회원가입 실패 - 이미 사용 중인 아이디")
+    void saveDuplicateUsernameTest() {
+        // given
+        RegisterRequest registerRequest = new RegisterRequest("existingUser", "password123", BUYER);
+        when(memberRepository.existsByUsername("existingUser")).thenReturn(true);
+
+        // when & then
+        assertThrows(IllegalStateException.class, () -> memberService.save(registerRequest));
+        verify(memberRepository, never()).save(any(Member.class));
+    }
+
     @Test
     @DisplayName("로그인 성공")
     void findByUsernameTest() {
@@ -0,0 +1,144 @@
+package org.example.market.service;
+
+import org.example.market.domain.Member;
+import org.example.market.domain.Orders;
+import org.example.market.domain.Product;
+import org.example.market.exception.InsufficientStockException;
+import org.example.market.repository.MemberRepository;
+import org.example.market.repository.OrderRepository;
+import org.example.market.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.example.market.domain.Member.Role.BUYER;
+import static org.example.market.domain.Member.Role.SELLER;
+import static org.example.market.domain.Product.ProductStatus.FOR_SALE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 한 상품에 몰린 동시 판매 승인의 처리량(approvals/sec) 비교. ./gradlew benchmarkTest 로 실행한다.
+ * 재고 조건을 건 UPDATE 한 번으로 차감하는 approveSale과, 조회 후 엔티티를 고쳐 버전 검사에 맡기는 변경 전 방식을 비교한다.
+ * 정확성은 OrderServiceConcurrencyTest에서 확인하고 여기서는 처리량만 잰다.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:approve-${random.uuid};MODE=MySQL;DB_CLOSE_DELAY=-1"
+})
+class OrderApproveBenchmarkTest {
+    private static final int ORDER_COUNT = 2_000;
+    private static final int STOCK = ORDER_COUNT;   // 재고 부족 없이 동시 수정 충돌만 비교한다
+    private static final int THREADS = 16;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Member seller;
+    private Member buyer;
+    private Product product;
+    private final List<Long> orderIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        seller = memberRepository.save(Member.builder().username("approveBenchmarkSeller").password("password").role(SELLER).build());
+        buyer = memberRepository.save(Member.builder().username("approveBenchmarkBuyer").password("password").role(BUYER).build());
+        product = productRepository.save(new Product("Approve Benchmark Product", 100L, FOR_SALE, seller, STOCK));
+        List<Orders> orders = new ArrayList<>();
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            orders.add(new Orders(product, buyer, Orders.OrderStatus.RESERVED, 1L, 100L));
+        }
+        orderRepository.saveAll(orders).forEach(order -> orderIds.add(order.getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllByIdInBatch(orderIds);
+        productRepository.deleteById(product.getId());
+        memberRepository.deleteAllByIdInBatch(List.of(seller.getId(), buyer.getId()));
+    }
+
+    @Test
+    @DisplayName("동시 판매 승인 처리량 - 조건부 UPDATE")
+    void approveConditionalUpdate() throws InterruptedException {
+        report("conditional update", orderId -> {
+            Orders order = orderRepository.findById(orderId).orElseThrow();
+            orderService.approveSale(order, order.getProduct().getSeller());
+        });
+    }
+
+    @Test
+    @DisplayName("동시 판매 승인 처리량 - 조회 후 엔티티 수정 (변경 전 방식)")
+    void approveReadModifyWrite() throws InterruptedException {
+        report("read-modify-write", orderId -> {
+            Orders order = orderRepository.findById(orderId).orElseThrow();
+            Product target = productRepository.findById(order.getProduct().getId()).orElseThrow();
+            if (target.getStock() < order.getQuantity()) {
+                throw new InsufficientStockException("재고가 부족합니다.");
+            }
+            if (order.getQuantity() == target.getStock()) target.soldOut();
+            target.minusStock(order.getQuantity());
+            order.setCompleted();
+        });
+    }
+
+    private void report(String label, Consumer<Long> approve) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(orderIds.size());
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+        for (Long orderId : orderIds) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    transactionTemplate.executeWithoutResult(status -> approve.accept(orderId));
+                    approved.incrementAndGet();
+                } catch (ConcurrencyFailureException e) {
+                    conflicts.incrementAndGet();   // 버전 충돌로 롤백된 승인. 클라이언트가 다시 시도해야 한다
+                } catch (Throwable e) {
+                    errors.add(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long startedAt = System.nanoTime();
+        start.countDown();
+        assertTrue(done.await(120, TimeUnit.SECONDS));
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+        executor.shutdown();
+
+        System.out.printf("[%s] %d건 승인 요청, %d건 승인, %d건 충돌, %.2fs, %.0f approvals/sec%n",
+                label, orderIds.size(), approved.get(), conflicts.get(), seconds, approved.get() / seconds);
+        assertTrue(errors.isEmpty(), () -> "예상하지 못한 예외: " + errors);
+        assertEquals(orderIds.size(), approved.get() + conflicts.get());
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.market.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.market.controller.dto.FileFormat;
+import org.example.market.controller.dto.OrderExportRow;
+import org.example.market.domain.Orders.OrderStatus;
+import org.example.market.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class OrderExportServiceTest {
+    @Mock
+    private OrderRepository orderRepository;
+
+    private OrderExportService orderExportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        orderExportService = new OrderExportService(orderRepository, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    @DisplayName("CSV 내보내기 - BOM, 헤더, 특수문자 이스케이프 후 스트림을 닫는다")
+    void exportCsvTest() throws Exception {
+        // given
+        LocalDateTime created = LocalDateTime.of(2024, 6, 1, 12, 0);
+        OrderExportRow plain = new OrderExportRow(1L, 10L, "사과", 100L, OrderStatus.RESERVED, 2L, 2000L, created);
+        OrderExportRow quoted = new OrderExportRow(2L, 11L, "=\"배\", 1kg", 101L, OrderStatus.COMPLETED, 1L, 500L, created);
+        Stream<OrderExportRow> rows = spy(Stream.of(plain, quoted));
+        when(orderRepository.streamExportBySellerId(1L, null)).thenReturn(rows);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long count = orderExportService.exportBySeller(1L, null, FileFormat.CSV, out);
+
+        // then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals("\uFEFForder_id,product_id,product_name,buyer_id,status,quantity,total_price,created_date", lines[0]);
+        assertEquals("1,10,사과,100,RESERVED,2,2000,2024-06-01T12:00", lines[1]);
+        assertEquals("2,11,\"'=\"\"배\"\", 1kg\",101,COMPLETED,1,500,2024-06-01T12:00", lines[2]);
+        verify(rows).close();
+    }
+
+    @Test
+    @DisplayName("NDJSON 내보내기 - 한 줄에 주문 하나")
+    void exportNdjsonTest() throws Exception {
+        // given
+        OrderExportRow row = new OrderExportRow(1L, null, null, 100L, OrderStatus.CANCELED, 1L, 100L, null);
+        when(orderRepository.streamExportAll()).thenReturn(Stream.of(row, row, row));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // when
+        long count = orderExportService.exportAll(FileFormat.NDJSON, out);
+
+        // then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, count);
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":1,"));
+        assertTrue(lines[0].contains("\"status\":\"CANCELED\""));
+    }
+}
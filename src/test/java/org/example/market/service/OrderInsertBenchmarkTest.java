@@ -0,0 +1,109 @@
+package org.example.market.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.market.domain.Member;
+import org.example.market.domain.Orders;
+import org.example.market.domain.Product;
+import org.example.market.repository.MemberRepository;
+import org.example.market.repository.ProductRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.example.market.domain.Member.Role.BUYER;
+import static org.example.market.domain.Member.Role.SELLER;
+import static org.example.market.domain.Product.ProductStatus.FOR_SALE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 주문 10만 건 INSERT 측정. ./gradlew benchmarkTest 로 실행한다.
+ * IDENTITY 전략에서처럼 행마다 INSERT를 바로 실행하는 경우와, 시퀀스 id로 JDBC 배치를 쓰는 경우를 비교한다.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class OrderInsertBenchmarkTest {
+    private static final int ORDER_COUNT = 100_000;
+    private static final int CHUNK_SIZE = 1_000;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Statistics statistics;
+    private Member seller;
+    private Member buyer;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        seller = memberRepository.save(Member.builder().username("benchmarkSeller").password("password").role(SELLER).build());
+        buyer = memberRepository.save(Member.builder().username("benchmarkBuyer").password("password").role(BUYER).build());
+        product = productRepository.save(new Product("Benchmark Product", 100L, FOR_SALE, seller, ORDER_COUNT));
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionTemplate.executeWithoutResult(status -> entityManager
+                .createQuery("delete from Orders o where o.buyer.id = :buyerId")
+                .setParameter("buyerId", buyer.getId())
+                .executeUpdate());
+        productRepository.deleteById(product.getId());
+        memberRepository.deleteAllByIdInBatch(List.of(seller.getId(), buyer.getId()));
+    }
+
+    @Test
+    @DisplayName("주문 10만 건 INSERT - 행 단위 실행 (IDENTITY 방식)")
+    void insertRowByRow() {
+        report("row-by-row", () -> insertOrders(true));
+    }
+
+    @Test
+    @DisplayName("주문 10만 건 INSERT - JDBC 배치")
+    void insertBatched() {
+        report("batched", () -> insertOrders(false));
+    }
+
+    private void insertOrders(boolean flushEveryRow) {
+        for (int chunk = 0; chunk < ORDER_COUNT / CHUNK_SIZE; chunk++) {
+            transactionTemplate.executeWithoutResult(status -> {
+                Product productRef = entityManager.getReference(Product.class, product.getId());
+                Member buyerRef = entityManager.getReference(Member.class, buyer.getId());
+                for (int i = 0; i < CHUNK_SIZE; i++) {
+                    entityManager.persist(new Orders(productRef, buyerRef, Orders.OrderStatus.RESERVED, 1L, 100L));
+                    if (flushEveryRow) {
+                        entityManager.flush();  // IDENTITY처럼 INSERT를 한 건씩 DB로 보낸다
+                    }
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+        }
+    }
+
+    private void report(String label, Runnable insert) {
+        statistics.clear();
+        long startedAt = System.nanoTime();
+        insert.run();
+        double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+        long inserted = statistics.getEntityInsertCount();
+        System.out.printf("[%s] %d건 INSERT, %.2fs, %.0f rows/sec, JDBC 문장 준비 %d회%n",
+                label, inserted, seconds, inserted / seconds, statistics.getPrepareStatementCount());
+        assertEquals(ORDER_COUNT, inserted);
+    }
+}
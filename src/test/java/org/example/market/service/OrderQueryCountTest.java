@@ -0,0 +1,96 @@
+package org.example.market.service;
+
+import jakarta.persistence.EntityManager;
+import org.example.market.controller.dto.OrderResponse;
+import org.example.market.domain.Member;
+import org.example.market.domain.Orders;
+import org.example.market.domain.Product;
+import org.example.market.repository.MemberRepository;
+import org.example.market.repository.OrderRepository;
+import org.example.market.repository.ProductRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.example.market.domain.Member.Role.BUYER;
+import static org.example.market.domain.Member.Role.SELLER;
+import static org.example.market.domain.Product.ProductStatus.FOR_SALE;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class OrderQueryCountTest {
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private Statistics statistics;
+    private Member seller;
+    private Member buyer;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        seller = memberRepository.save(Member.builder().username("listSeller").password("password").role(SELLER).build());
+        buyer = memberRepository.save(Member.builder().username("listBuyer").password("password").role(BUYER).build());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    @DisplayName("구매자 주문 목록 - 주문 수와 상관없이 SQL 한 번")
+    void getOrdersByMemberStatementCountTest(int orderCount) {
+        // given: 주문마다 다른 상품이라 엔티티로 조회하면 상품, 판매자 조회가 주문 수만큼 늘어난다
+        for (int i = 0; i < orderCount; i++) {
+            Product product = productRepository.save(new Product("Product " + i, 100L, FOR_SALE, seller, 10));
+            orderRepository.save(new Orders(product, buyer, Orders.OrderStatus.RESERVED, 1L, 100L));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // when
+        List<OrderResponse> orders = orderService.getOrdersByMember(buyer);
+
+        // then
+        assertEquals(orderCount, orders.size());
+        assertEquals("Product 0", orders.get(0).getProductName());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 10, 50})
+    @DisplayName("상품 주문 목록 - 주문 수와 상관없이 SQL 한 번")
+    void getOrdersByProductStatementCountTest(int orderCount) {
+        // given
+        Product product = productRepository.save(new Product("Product", 100L, FOR_SALE, seller, 100));
+        for (int i = 0; i < orderCount; i++) {
+            Member orderBuyer = memberRepository.save(Member.builder().username("listBuyer" + i).password("password").role(BUYER).build());
+            orderRepository.save(new Orders(product, orderBuyer, Orders.OrderStatus.RESERVED, 1L, 100L));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // when
+        List<OrderResponse> orders = orderService.getOrdersByProduct(product);
+
+        // then
+        assertEquals(orderCount, orders.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.market.service;
+
+import org.example.market.domain.Member;
+import org.example.market.domain.Orders;
+import org.example.market.domain.Product;
+import org.example.market.exception.InsufficientStockException;
+import org.example.market.repository.MemberRepository;
+import org.example.market.repository.OrderRepository;
+import org.example.market.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.example.market.domain.Member.Role.BUYER;
+import static org.example.market.domain.Member.Role.SELLER;
+import static org.example.market.domain.Product.ProductStatus.FOR_SALE;
+import static org.example.market.domain.Product.ProductStatus.SOLD_OUT;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class OrderServiceConcurrencyTest {
+    private static final int STOCK = 50;
+    private static final int ORDER_COUNT = 200;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private OrderService orderService;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private ProductRepository productRepository;
+    @Autowired
+    private OrderRepository orderRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Member seller;
+    private Member buyer;
+    private Product product;
+    private final List<Long> orderIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        seller = memberRepository.save(Member.builder().username("concurrencySeller").password("password").role(SELLER).build());
+        buyer = memberRepository.save(Member.builder().username("concurrencyBuyer").password("password").role(BUYER).build());
+        product = productRepository.save(new Product("Concurrency Product", 100L, FOR_SALE, seller, STOCK));
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Orders order = orderRepository.save(new Orders(product, buyer, Orders.OrderStatus.RESERVED, 1L, 100L));
+            orderIds.add(order.getId());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        orderRepository.deleteAllByIdInBatch(orderIds);
+        productRepository.deleteById(product.getId());
+        memberRepository.deleteAllByIdInBatch(List.of(seller.getId(), buyer.getId()));
+    }
+
+    @Test
+    @DisplayName("동시 판매 승인 - 조건부 UPDATE는 재고를 초과해 판매하지 않는다")
+    void approveSaleConcurrentlyTest() throws InterruptedException {
+        // when
+        int approved = runConcurrently(orderId -> {
+            Orders order = orderRepository.findById(orderId).orElseThrow();
+            orderService.approveSale(order, order.getProduct().getSeller());
+        });
+
+        // then
+        Product result = productRepository.findById(product.getId()).orElseThrow();
+        assertEquals(STOCK, approved);
+        assertEquals(0, result.getStock());
+        assertEquals(SOLD_OUT, result.getStatus());
+        long completed = orderRepository.findAllById(orderIds).stream()
+                .filter(order -> order.getStatus() == Orders.OrderStatus.COMPLETED)
+                .count();
+        assertEquals(STOCK, completed);
+    }
+
+    @Test
+    @DisplayName("동시 판매 승인 - 조회 후 엔티티를 고치는 방식도 버전 검사로 갱신 손실이 없다")
+    void approveSaleReadModifyWriteTest() throws InterruptedException {
+        // when: 변경 전 approveSale과 같은 방식으로 조회 후 엔티티 값을 바꿔 dirty checking에 맡긴다
+        int approved = runConcurrently(orderId -> {
+            Orders order = orderRepository.findById(orderId).orElseThrow();
+            Product target = productRepository.findById(order.getProduct().getId()).orElseThrow();
+            if (target.getStock() < order.getQuantity()) {
+                throw new InsufficientStockException("재고가 부족합니다.");
+            }
+            if (order.getQuantity() == target.getStock()) target.soldOut();
+            target.minusStock(order.getQuantity());
+            order.setCompleted();
+        });
+
+        // then: 충돌한 승인은 롤백되므로 승인 수량과 남은 재고의 합이 초기 재고와 같다
+        Product result = productRepository.findById(product.getId()).orElseThrow();
+        long completed = orderRepository.findAllById(orderIds).stream()
+                .filter(order -> order.getStatus() == Orders.OrderStatus.COMPLETED)
+                .count();
+        long lostUpdates = approved + result.getStock() - STOCK;
+        assertEquals(0, lostUpdates);
+        assertEquals(approved, completed);
+    }
+
+    private int runConcurrently(Consumer<Long> approve) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(orderIds.size());
+        AtomicInteger approved = new AtomicInteger();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+
+        for (Long orderId : orderIds) {
+            executor.submit(() -> {
+                try {
+                    start.await();
+                    transactionTemplate.executeWithoutResult(status -> approve.accept(orderId));
+                    approved.incrementAndGet();
+                } catch (InsufficientStockException | ConcurrencyFailureException ignored) {
+                    // 재고 부족이나 동시 수정 충돌로 거절된 승인
+                } catch (Throwable e) {
+                    errors.add(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        start.countDown();
+        assertTrue(done.await(60, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(errors.isEmpty(), () -> "예상하지 못한 예외: " + errors);
+        return approved.get();
+    }
+}
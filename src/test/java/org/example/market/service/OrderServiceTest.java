@@ -1,9 +1,15 @@
 package org.example.market.service;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.aspectj.weaver.ast.Or;
+import org.example.market.controller.dto.CheckoutRequest;
+import org.example.market.controller.dto.CheckoutResponse;
+import org.example.market.controller.dto.OrderResponse;
 import org.example.market.domain.Member;
 import org.example.market.domain.Orders;
 import org.example.market.domain.Product;
+import org.example.market.event.OrderReservedEvent;
+import org.example.market.exception.CheckoutFailedException;
 import org.example.market.exception.InsufficientStockException;
 import org.example.market.exception.UnauthorizedException;
 import org.example.market.repository.OrderRepository;
@@ -12,12 +18,16 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.example.market.domain.Product.ProductStatus.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -30,6 +40,12 @@ class OrderServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
     @InjectMocks
     private OrderService orderService;
 
@@ -73,6 +89,72 @@ class OrderServiceTest {
         // when & then
         assertThrows(UnauthorizedException.class, () -> orderService.reserveProduct(product, buyer, 100L, 1L));
         verify(orderRepository, never()).save(any(Orders.class));
+        assertEquals(1.0, meterRegistry.counter("market.order.rejections", "reason", "self_purchase").count());
+    }
+
+    @Test
+    @DisplayName("장바구니 주문 성공 - 상품 조회 한 번, 주문 저장 한 번")
+    void checkoutTest() {
+        // given
+        when(buyer.getId()).thenReturn(2L);
+        Product first = forSaleProduct(1L, 100L);
+        Product second = forSaleProduct(3L, 300L);
+        when(productRepository.findAllWithSellerByIdIn(Set.of(1L, 3L))).thenReturn(List.of(first, second));
+        when(orderRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<CheckoutRequest.Item> items = List.of(
+                new CheckoutRequest.Item(3L, 2L, 300L),
+                new CheckoutRequest.Item(1L, 1L, 100L),
+                new CheckoutRequest.Item(3L, 1L, 300L));
+
+        // when
+        CheckoutResponse response = orderService.checkout(buyer, items);
+
+        // then
+        assertEquals(1000L, response.getTotalPrice());
+        verify(productRepository, times(1)).findAllWithSellerByIdIn(Set.of(1L, 3L));
+        verify(orderRepository, times(1)).saveAll(anyList());
+        verify(orderRepository, never()).save(any(Orders.class));
+        // 예약 이벤트는 상품별로 합쳐 상품 id 순서로 발행한다
+        InOrder events = inOrder(eventPublisher);
+        events.verify(eventPublisher).publishEvent(new OrderReservedEvent(1L, 1L, 1L));
+        events.verify(eventPublisher).publishEvent(new OrderReservedEvent(3L, 2L, 3L));
+        verify(eventPublisher, times(2)).publishEvent(any(OrderReservedEvent.class));
+    }
+
+    @Test
+    @DisplayName("장바구니 주문 실패 - 한 줄이라도 실패하면 주문을 만들지 않고 줄별 오류를 반환")
+    void checkoutLineErrorsTest() {
+        // given
+        when(buyer.getId()).thenReturn(2L);
+        Product product = forSaleProduct(1L, 100L);
+        when(productRepository.findAllWithSellerByIdIn(anyCollection())).thenReturn(List.of(product));
+
+        List<CheckoutRequest.Item> items = List.of(
+                new CheckoutRequest.Item(1L, 1L, 100L),
+                new CheckoutRequest.Item(1L, 1L, 90L),   // 가격 불일치
+                new CheckoutRequest.Item(9L, 1L, 100L)); // 없는 상품
+
+        // when
+        CheckoutFailedException exception = assertThrows(CheckoutFailedException.class, () -> orderService.checkout(buyer, items));
+
+        // then
+        assertEquals(2, exception.getErrors().size());
+        assertEquals(1, exception.getErrors().get(0).getLine());
+        assertEquals("제시한 가격이 일치하지 않습니다.", exception.getErrors().get(0).getMessage());
+        assertEquals(2, exception.getErrors().get(1).getLine());
+        assertEquals(9L, exception.getErrors().get(1).getProductId());
+        assertEquals(1.0, meterRegistry.counter("market.order.rejections", "reason", "price_mismatch").count());
+        verify(orderRepository, never()).saveAll(anyList());
+    }
+
+    private Product forSaleProduct(Long id, Long price) {
+        Product product = mock(Product.class);
+        when(product.getId()).thenReturn(id);
+        when(product.getSeller()).thenReturn(seller);
+        when(product.getStatus()).thenReturn(FOR_SALE);
+        when(product.getPrice()).thenReturn(price);
+        return product;
     }
 
     @Test
@@ -87,17 +169,18 @@ class OrderServiceTest {
 
         Orders order = mock(Orders.class);
         when(order.getProduct()).thenReturn(product);
+        when(order.getStatus()).thenReturn(Orders.OrderStatus.RESERVED);
         when(order.getQuantity()).thenReturn(5L); // 주문 수량이 5라고 가정
         when(productRepository.findById(product.getId())).thenReturn(Optional.of(product));
+        when(productRepository.decreaseStock(1L, 5)).thenReturn(1);
 
         // when
         orderService.approveSale(order, seller);
 
         // then
         verify(productRepository, times(1)).findById(product.getId());
-        verify(product, times(1)).minusStock(5L);
+        verify(productRepository, times(1)).decreaseStock(1L, 5);  // 재고 차감은 조건부 UPDATE로 처리
         verify(order, times(1)).setCompleted();
-        verify(product, never()).soldOut();  // 재고가 남아있기 때문에 soldOut()은 호출되지 않음
     }
 
     @Test
@@ -110,6 +193,19 @@ class OrderServiceTest {
 
         // when & then
         assertThrows(InsufficientStockException.class, () -> orderService.approveSale(order, seller));
+        assertEquals(1.0, meterRegistry.counter("market.order.rejections", "reason", "insufficient_stock").count());
+    }
+
+    @Test
+    @DisplayName("판매 승인 실패 - 이미 승인된 주문")
+    void approveCompletedOrderTest() {
+        // given
+        Product product = new Product("Test Product", 100L, FOR_SALE, seller, 10);
+        Orders order = new Orders(product, buyer, Orders.OrderStatus.COMPLETED, 1L, 100L);
+
+        // when & then
+        assertThrows(IllegalStateException.class, () -> orderService.approveSale(order, seller));
+        verify(productRepository, never()).decreaseStock(any(), anyInt());
     }
 
     @Test
@@ -117,20 +213,20 @@ class OrderServiceTest {
     void getOrdersByMemberTest() {
         // given
         Member member = mock(Member.class);
-        Orders order1 = mock(Orders.class);
-        Orders order2 = mock(Orders.class);
+        when(member.getId()).thenReturn(2L);
+        OrderResponse order1 = new OrderResponse(1L, "Test Product", 100L, Orders.OrderStatus.RESERVED, 1L);
+        OrderResponse order2 = new OrderResponse(2L, "Test Product", 200L, Orders.OrderStatus.COMPLETED, 2L);
 
-        when(order1.getStatus()).thenReturn(Orders.OrderStatus.RESERVED);
-        when(order2.getStatus()).thenReturn(Orders.OrderStatus.COMPLETED);
-
-        when(orderRepository.findByBuyer(member)).thenReturn(List.of(order1, order2));
+        when(orderRepository.findResponsesByBuyerId(2L)).thenReturn(List.of(order1, order2));
 
         // when
         var orderResponses = orderService.getOrdersByMember(member);
 
         // then
         assertEquals(2, orderResponses.size());
-        verify(orderRepository, times(1)).findByBuyer(member);
+        assertEquals("예약중", orderResponses.get(0).getStatus());
+        verify(orderRepository, times(1)).findResponsesByBuyerId(2L);
+        verify(orderRepository, never()).findByBuyer(member);
     }
 
     @Test
@@ -138,15 +234,15 @@ class OrderServiceTest {
     void getOrdersByProductTest() {
         // given
         Product product = mock(Product.class);
-        Orders order1 = mock(Orders.class);
-        Orders order2 = mock(Orders.class);
-        when(orderRepository.findByProduct(product)).thenReturn(List.of(order1,order2));
+        when(product.getId()).thenReturn(1L);
+        when(orderRepository.findResponsesByProductId(1L))
+                .thenReturn(List.of(new OrderResponse(1L, 100L, 1L), new OrderResponse(2L, 200L, 2L)));
 
         // when
         var orderResponses = orderService.getOrdersByProduct(product);
 
         // then
         assertEquals(2, orderResponses.size());
-        verify(orderRepository, times(1)).findByProduct(product);
+        verify(orderRepository, times(1)).findResponsesByProductId(1L);
     }
 }
\ No newline at end of file
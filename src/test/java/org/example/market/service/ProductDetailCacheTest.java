@@ -0,0 +1,70 @@
+package org.example.market.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.market.controller.dto.ProductDetailResponse;
+import org.example.market.domain.Member;
+import org.example.market.domain.Product;
+import org.example.market.event.ProductChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.example.market.domain.Product.ProductStatus.FOR_SALE;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProductDetailCacheTest {
+    private ProductDetailCache productDetailCache;
+    private AtomicInteger loads;
+    private Function<Long, ProductDetailResponse> loader;
+
+    @BeforeEach
+    void setUp() {
+        productDetailCache = new ProductDetailCache(100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+        Member seller = new Member(1L, "seller", "password", Member.Role.SELLER);
+        loader = id -> {
+            loads.incrementAndGet();
+            return id == 1L ? new ProductDetailResponse(new Product("Test Product", 100L, FOR_SALE, seller, 10)) : null;
+        };
+    }
+
+    @Test
+    @DisplayName("상품 상세 - 두 번째 조회는 캐시에서 응답한다")
+    void readThroughTest() {
+        // when
+        productDetailCache.get(1L, loader);
+        productDetailCache.get(1L, loader);
+
+        // then
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @DisplayName("상품 변경 이벤트를 받으면 다시 로딩한다")
+    void invalidateOnProductChangedTest() {
+        // given
+        productDetailCache.get(1L, loader);
+
+        // when
+        productDetailCache.onProductChanged(new ProductChangedEvent(1L));
+        productDetailCache.get(1L, loader);
+
+        // then
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("존재하지 않는 상품은 캐시하지 않는다")
+    void missingProductNotCachedTest() {
+        // when
+        assertTrue(productDetailCache.get(2L, loader).isEmpty());
+        assertTrue(productDetailCache.get(2L, loader).isEmpty());
+
+        // then
+        assertEquals(2, loads.get());
+    }
+}
@@ -0,0 +1,144 @@
+package org.example.market.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.example.market.controller.dto.FileFormat;
+import org.example.market.controller.dto.ProductImportProgress;
+import org.example.market.domain.Member;
+import org.example.market.domain.Product;
+import org.example.market.exception.BadRequestException;
+import org.example.market.repository.MemberRepository;
+import org.example.market.repository.ProductRepository;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ProductImportServiceTest {
+    @Mock
+    private ProductRepository productRepository;
+    @Mock
+    private MemberRepository memberRepository;
+    @Mock
+    private ProductSalesService productSalesService;
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private Session session;
+
+    private ProductImportService productImportService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        when(memberRepository.getReferenceById(1L)).thenReturn(mock(Member.class));
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        productImportService = new ProductImportService(productRepository, memberRepository, productSalesService,
+                productSearchIndex, transactionTemplate, entityManager, new ObjectMapper(), 2, 10);
+    }
+
+    @Test
+    @DisplayName("CSV 일괄 등록 - 잘못된 줄은 건너뛰고 나머지를 배치 크기만큼 나눠 저장한다")
+    @SuppressWarnings("unchecked")
+    void importCsvTest() {
+        // given
+        String csv = """
+                name,price,stock
+                사과,1000,10
+                배,,5
+                "포도, 1kg",3000,1
+
+                귤,500,abc
+                감,700,0
+                """;
+
+        // when
+        ProductImportProgress result = productImportService.importProducts(1L, FileFormat.CSV, stream(csv));
+
+        // then
+        assertEquals(ProductImportProgress.Status.COMPLETED, result.getStatus());
+        assertEquals(5, result.getProcessedRows());
+        assertEquals(3, result.getImportedRows());
+        assertEquals(2, result.getFailedRows());
+        assertEquals(List.of(3L, 6L), result.getErrors().stream().map(e -> e.getLine()).toList());
+
+        ArgumentCaptor<List<Product>> batches = ArgumentCaptor.forClass(List.class);
+        verify(productRepository, times(2)).saveAll(batches.capture());
+        assertEquals(List.of("사과", "포도, 1kg"), batches.getAllValues().get(0).stream().map(Product::getName).toList());
+        assertEquals(Product.ProductStatus.FOR_SALE, batches.getAllValues().get(1).get(0).getStatus());
+        verify(entityManager, times(2)).clear();
+        verify(productSearchIndex, times(3)).put(any());
+        assertTrue(productImportService.findById(result.getId(), 1L).isPresent());
+        assertTrue(productImportService.findById(result.getId(), 2L).isEmpty());
+    }
+
+    @Test
+    @DisplayName("NDJSON 일괄 등록 - JSON 오류와 검증 실패를 줄별로 보고한다")
+    void importNdjsonTest() {
+        // given
+        String ndjson = """
+                {"name":"사과","price":1000,"stock":10}
+                {"name":"배","price":
+                {"name":" ","price":1000,"stock":1}
+                """;
+
+        // when
+        ProductImportProgress result = productImportService.importProducts(1L, FileFormat.NDJSON, stream(ndjson));
+
+        // then
+        assertEquals(ProductImportProgress.Status.COMPLETED, result.getStatus());
+        assertEquals(1, result.getImportedRows());
+        assertEquals(2, result.getFailedRows());
+        assertEquals("상품명을 입력해야 합니다.", result.getErrors().get(1).getMessage());
+        assertEquals(1, productImportService.findBySeller(1L).size());
+    }
+
+    @Test
+    @DisplayName("CSV 헤더에 필요한 열이 없으면 작업을 만들지 않고 요청 오류로 거절한다")
+    void importCsvWithoutHeaderTest() {
+        // when
+        BadRequestException e = assertThrows(BadRequestException.class,
+                () -> productImportService.importProducts(1L, FileFormat.CSV, stream("사과,1000,10\n")));
+
+        // then
+        assertEquals("CSV 헤더에 name 열이 없습니다.", e.getMessage());
+        assertTrue(productImportService.findBySeller(1L).isEmpty());
+        verify(productRepository, never()).saveAll(any());
+        assertThrows(BadRequestException.class, () -> productImportService.importProducts(1L, FileFormat.CSV, stream("\n")));
+    }
+
+    @Test
+    @DisplayName("재고가 int 범위를 넘으면 상한을 알려준다")
+    void importStockOverflowTest() {
+        // when
+        ProductImportProgress result = productImportService.importProducts(1L, FileFormat.CSV,
+                stream("name,price,stock\n사과,1000,3000000000\n"));
+
+        // then
+        assertEquals(1, result.getFailedRows());
+        assertEquals("재고는 " + Integer.MAX_VALUE + " 이하여야 합니다.", result.getErrors().get(0).getMessage());
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
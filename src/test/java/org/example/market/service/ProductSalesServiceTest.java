@@ -0,0 +1,101 @@
+package org.example.market.service;
+
+import org.example.market.controller.dto.ProductResponse;
+import org.example.market.domain.Orders.OrderStatus;
+import org.example.market.domain.ProductSales;
+import org.example.market.event.OrderReservedEvent;
+import org.example.market.repository.OrderRepository;
+import org.example.market.repository.OrderRepository.SalesAggregate;
+import org.example.market.repository.ProductRepository;
+import org.example.market.repository.ProductSalesRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.example.market.domain.Product.ProductStatus.FOR_SALE;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductSalesServiceTest {
+    @Mock
+    private ProductSalesRepository productSalesRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @InjectMocks
+    private ProductSalesService productSalesService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @Test
+    @DisplayName("예약 - 집계 행을 읽지 않고 증감 한 번으로 반영한다")
+    void onOrderReservedTest() {
+        // when
+        productSalesService.onOrderReserved(new OrderReservedEvent(1L, 2L, 3L));
+
+        // then
+        verify(productSalesRepository, times(1)).addReservation(1L, 2L, 3L);
+        verify(productSalesRepository, never()).findById(anyLong());
+        verify(productSalesRepository, never()).save(any(ProductSales.class));
+    }
+
+    @Test
+    @DisplayName("재계산 - 주문 상태별 합계로 집계를 덮어쓴다")
+    void rebuildTest() {
+        // given
+        ProductSales sales = new ProductSales(1L);
+        sales.reset(99, 99, 99, 99, 99);
+        when(productRepository.findPageAfter(eq(0L), any()))
+                .thenReturn(new SliceImpl<>(List.of(new ProductResponse(1L, "Test Product", 100L, FOR_SALE, 10)), PageRequest.of(0, 500), false));
+        when(productSalesRepository.findAllForUpdate(List.of(1L))).thenReturn(List.of(sales));
+        List<SalesAggregate> aggregates = List.of(
+                aggregate(OrderStatus.RESERVED, 2L, 3L, 300L),
+                aggregate(OrderStatus.COMPLETED, 4L, 5L, 500L));
+        when(orderRepository.aggregateSalesByProductIds(List.of(1L))).thenReturn(aggregates);
+
+        // when
+        int rebuilt = productSalesService.rebuild();
+
+        // then
+        assertEquals(1, rebuilt);
+        assertEquals(2L, sales.getReservedCount());
+        assertEquals(3L, sales.getReservedQuantity());
+        assertEquals(4L, sales.getSoldCount());
+        assertEquals(5L, sales.getSoldQuantity());
+        assertEquals(500L, sales.getRevenue());
+    }
+
+    private static SalesAggregate aggregate(OrderStatus status, Long orders, Long quantity, Long totalPrice) {
+        SalesAggregate aggregate = mock(SalesAggregate.class);
+        when(aggregate.getProductId()).thenReturn(1L);
+        when(aggregate.getStatus()).thenReturn(status);
+        when(aggregate.getOrders()).thenReturn(orders);
+        when(aggregate.getQuantity()).thenReturn(quantity);
+        when(aggregate.getTotalPrice()).thenReturn(totalPrice);
+        return aggregate;
+    }
+}
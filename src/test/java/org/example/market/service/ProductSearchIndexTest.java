@@ -0,0 +1,168 @@
+package org.example.market.service;
+
+import org.example.market.controller.dto.ProductResponse;
+import org.example.market.event.ProductChangedEvent;
+import org.example.market.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.example.market.domain.Product.ProductStatus.FOR_SALE;
+import static org.example.market.domain.Product.ProductStatus.SOLD_OUT;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ProductSearchIndexTest {
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        productSearchIndex = new ProductSearchIndex(mock(ProductRepository.class), 10_000);
+        productSearchIndex.put(new ProductResponse(1L, "무선 이어폰", 100L, FOR_SALE, 10));
+        productSearchIndex.put(new ProductResponse(2L, "블루투스 무선이어폰 케이스", 200L, FOR_SALE, 10));
+        productSearchIndex.put(new ProductResponse(3L, "Wireless Earphone", 300L, SOLD_OUT, 0));
+        productSearchIndex.put(new ProductResponse(4L, "이어폰", 400L, FOR_SALE, 10));
+    }
+
+    @Test
+    @DisplayName("검색 - 단어 일치, 접두어, 단어 중간 일치 순으로 정렬한다")
+    void rankingTest() {
+        // when
+        List<Long> ids = ids(productSearchIndex.search("이어폰", null, 0, 10));
+
+        // then: 단어 일치(4, 1) 중 이름이 짧은 4가 먼저, 중간 일치(2)가 마지막
+        assertEquals(List.of(4L, 1L, 2L), ids);
+    }
+
+    @Test
+    @DisplayName("검색 - 대소문자 구분 없는 접두어 검색과 여러 단어 AND 검색")
+    void prefixAndMultiTermTest() {
+        assertEquals(List.of(3L), ids(productSearchIndex.search("WIRE", null, 0, 10)));
+        assertEquals(List.of(1L, 2L), ids(productSearchIndex.search("무선 이어", null, 0, 10)));
+        assertTrue(productSearchIndex.search("무선 earphone", null, 0, 10).getContent().isEmpty());
+    }
+
+    @Test
+    @DisplayName("검색 - 상태 필터와 페이지 나누기")
+    void statusAndPagingTest() {
+        assertTrue(ids(productSearchIndex.search("earphone", FOR_SALE, 0, 10)).isEmpty());
+
+        Slice<ProductResponse> first = productSearchIndex.search("이어폰", null, 0, 2);
+        Slice<ProductResponse> second = productSearchIndex.search("이어폰", null, 1, 2);
+        assertEquals(List.of(4L, 1L), ids(first));
+        assertTrue(first.hasNext());
+        assertEquals(List.of(2L), ids(second));
+        assertFalse(second.hasNext());
+    }
+
+    @Test
+    @DisplayName("상품명 변경, 삭제 시 이전 이름으로는 검색되지 않는다")
+    void updateAndRemoveTest() {
+        // when
+        productSearchIndex.put(new ProductResponse(4L, "헤드폰", 400L, FOR_SALE, 10));
+        productSearchIndex.remove(1L);
+
+        // then
+        assertEquals(List.of(2L), ids(productSearchIndex.search("이어폰", null, 0, 10)));
+        assertEquals(List.of(4L), ids(productSearchIndex.search("헤드", null, 0, 10)));
+        assertEquals(3, productSearchIndex.size());
+    }
+
+    @Test
+    @DisplayName("검색 - 여러 단어는 교집합을 먼저 구한 뒤 순위를 매기고 결과 수만 제한한다")
+    void multiTermIntersectionTest() {
+        // given: 결과는 3개까지. "삼성"만 일치하는 상품이 "충전"까지 일치하는 상품보다 훨씬 많다
+        ProductSearchIndex index = new ProductSearchIndex(mock(ProductRepository.class), 3);
+        for (long id = 10; id < 30; id++) {
+            index.put(new ProductResponse(id, "삼성 케이블", 100L, FOR_SALE, 10));
+        }
+        index.put(new ProductResponse(5L, "삼성 충전기", 100L, FOR_SALE, 10));
+        index.put(new ProductResponse(6L, "삼성 고속충전기", 100L, FOR_SALE, 10));
+
+        // when & then: 접두어 일치(5)가 중간 일치(6)보다 먼저
+        assertEquals(List.of(5L, 6L), ids(index.search("삼성 충전", null, 0, 10)));
+
+        Slice<ProductResponse> first = index.search("삼성", null, 0, 2);
+        Slice<ProductResponse> second = index.search("삼성", null, 1, 2);
+        assertEquals(List.of(29L, 28L), ids(first));
+        assertTrue(first.hasNext());
+        assertEquals(List.of(27L), ids(second));
+        assertFalse(second.hasNext());
+        assertTrue(index.search("삼성", null, 2, 2).getContent().isEmpty());
+    }
+
+    @Test
+    @DisplayName("색인 생성 중 반영된 변경 이벤트를 생성 중 읽은 이전 값으로 덮어쓰지 않는다")
+    void buildRaceTest() {
+        // given: 색인 생성이 상품 1의 이전 이름을 읽는 사이 이름 변경이 커밋된다
+        ProductRepository productRepository = mock(ProductRepository.class);
+        ProductSearchIndex index = new ProductSearchIndex(productRepository, 10_000);
+        when(productRepository.findResponseById(1L))
+                .thenReturn(Optional.of(new ProductResponse(1L, "헤드폰", 100L, FOR_SALE, 10)));
+        when(productRepository.findPageAfter(eq(0L), any(Pageable.class))).thenAnswer(invocation -> {
+            index.onProductChanged(new ProductChangedEvent(1L));
+            return new SliceImpl<>(List.of(new ProductResponse(1L, "이어폰", 100L, FOR_SALE, 10)));
+        });
+
+        // when
+        index.build();
+
+        // then
+        assertEquals(List.of(1L), ids(index.search("헤드폰", null, 0, 10)));
+        assertTrue(index.search("이어폰", null, 0, 10).getContent().isEmpty());
+    }
+
+    @Test
+    @DisplayName("여러 상품이 처음 나오는 같은 단어를 동시에 색인해도 항목을 잃지 않는다")
+    void concurrentPutTest() throws Exception {
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int round = 0; round < 200; round++) {
+                // given: 라운드마다 색인에 없던 단어를 쓰는 상품들
+                String word = "r" + round + "x";
+                long firstId = 1_000L + round * threads;
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> puts = new ArrayList<>();
+
+                // when
+                for (int i = 0; i < threads; i++) {
+                    long id = firstId + i;
+                    puts.add(executor.submit(() -> {
+                        start.await();
+                        productSearchIndex.put(new ProductResponse(id, word, 100L, FOR_SALE, 10));
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> put : puts) {
+                    put.get(5, TimeUnit.SECONDS);
+                }
+
+                // then
+                assertEquals(threads, productSearchIndex.search(word, null, 0, threads * 2).getContent().size(), word);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<Long> ids(Slice<ProductResponse> slice) {
+        return slice.getContent().stream().map(ProductResponse::getId).toList();
+    }
+}
@@ -1,5 +1,6 @@
 package org.example.market.service;
 
+import org.example.market.controller.dto.ProductResponse;
 import org.example.market.controller.dto.ProductUpdateRequest;
 import org.example.market.domain.Member;
 import org.example.market.domain.Product;
@@ -11,7 +12,14 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
 import java.util.Optional;
 
 import static org.example.market.domain.Product.ProductStatus.*;
@@ -22,6 +30,18 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductDetailCache productDetailCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
+    @Mock
+    private ProductSalesService productSalesService;
+
     @InjectMocks
     private ProductService productService;
 
@@ -48,6 +68,7 @@ class ProductServiceTest {
         assertNotNull(savedProduct);
         assertEquals("Test Product", savedProduct.getName());
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(productSalesService, times(1)).register(savedProduct.getId());
     }
 
     @Test
@@ -84,6 +105,39 @@ class ProductServiceTest {
         verify(productRepository, times(1)).findById(productId);
     }
 
+    @Test
+    @DisplayName("제품 목록 조회 - cursor 이후 페이지")
+    void findPageTest() {
+        // given
+        PageRequest limit = PageRequest.of(0, 2);
+        ProductResponse first = new ProductResponse(11L, "A", 100L, FOR_SALE, 1);
+        ProductResponse second = new ProductResponse(12L, "B", 100L, FOR_SALE, 1);
+        when(productRepository.findPageAfter(10L, limit)).thenReturn(new SliceImpl<>(List.of(first, second), limit, true));
+
+        // when
+        Slice<ProductResponse> page = productService.findPage(10L, null, 2);
+
+        // then
+        assertEquals(2, page.getContent().size());
+        assertTrue(page.hasNext());
+        verify(productRepository, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("제품 목록 조회 - 상태 필터, 첫 페이지")
+    void findPageByStatusTest() {
+        // given
+        PageRequest limit = PageRequest.of(0, 20);
+        when(productRepository.findPageByStatusAfter(SOLD_OUT, 0L, limit)).thenReturn(new SliceImpl<>(List.of(), limit, false));
+
+        // when
+        Slice<ProductResponse> page = productService.findPage(null, SOLD_OUT, 20);
+
+        // then
+        assertFalse(page.hasNext());
+        verify(productRepository, times(1)).findPageByStatusAfter(SOLD_OUT, 0L, limit);
+    }
+
     @Test
     @DisplayName("제품 수정 성공")
     void updateProductTest() {
@@ -109,6 +163,28 @@ class ProductServiceTest {
         verify(productRepository, times(1)).findById(productId);
     }
 
+    @Test
+    @DisplayName("판매자가 읽은 뒤 버전이 바뀐 제품은 수정하지 않고 충돌로 실패")
+    void updateProductStaleVersionTest() {
+        // given: 판매자는 버전 1을 보고 수정했지만 그 사이 판매 승인으로 버전 2가 되었다
+        Long productId = 1L;
+        Product existingProduct = new Product("Old Product", 100L, FOR_SALE, seller, 9);
+        ReflectionTestUtils.setField(existingProduct, "version", 2L);
+        ProductUpdateRequest updateRequest = new ProductUpdateRequest();
+        updateRequest.setName("Updated Product");
+        updateRequest.setPrice(100L);
+        updateRequest.setStock(10);
+        updateRequest.setVersion(1L);
+
+        when(productRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
+
+        // when & then
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> productService.updateProduct(productId, updateRequest, seller));
+        assertEquals(9, existingProduct.getStock());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
     @Test
     @DisplayName("다른 판매자가 제품 수정 시도")
     void updateProductUnauthorizedTest() {
@@ -136,10 +212,26 @@ class ProductServiceTest {
         when(productRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
 
         // when
-        productService.deleteProduct(productId, seller);
+        productService.deleteProduct(productId, null, seller);
 
         // then
         verify(productRepository, times(1)).delete(existingProduct);
+        verify(productSalesService, times(1)).unregister(productId);
+    }
+
+    @Test
+    @DisplayName("판매자가 읽은 뒤 버전이 바뀐 제품은 삭제하지 않고 충돌로 실패")
+    void deleteProductStaleVersionTest() {
+        // given
+        Long productId = 1L;
+        Product existingProduct = new Product("Test Product", 100L, FOR_SALE, seller, 10);
+        ReflectionTestUtils.setField(existingProduct, "version", 2L);
+
+        when(productRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
+
+        // when & then
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> productService.deleteProduct(productId, 1L, seller));
+        verify(productRepository, never()).delete(any(Product.class));
     }
 
     @Test
@@ -153,7 +245,7 @@ class ProductServiceTest {
         when(productRepository.findById(productId)).thenReturn(Optional.of(existingProduct));
 
         // when & then
-        assertThrows(UnauthorizedException.class, () -> productService.deleteProduct(productId, otherSeller));
+        assertThrows(UnauthorizedException.class, () -> productService.deleteProduct(productId, null, otherSeller));
         verify(productRepository, times(1)).findById(productId);
     }
 }
\ No newline at end of file
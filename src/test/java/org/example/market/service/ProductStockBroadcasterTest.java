@@ -0,0 +1,178 @@
+package org.example.market.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.market.domain.Product.ProductStatus;
+import org.example.market.event.ProductChangedEvent;
+import org.example.market.exception.SubscriberLimitException;
+import org.example.market.repository.ProductRepository;
+import org.example.market.repository.ProductRepository.StockState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ProductStockBroadcasterTest {
+    @Mock
+    private ProductRepository productRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductStockBroadcaster broadcaster;
+
+    // 보낸 이벤트를 모으고, gate가 있으면 열릴 때까지 쓰기를 막는다 (느린 클라이언트)
+    static class CapturingEmitter extends SseEmitter {
+        final BlockingQueue<String> events = new LinkedBlockingQueue<>();
+        volatile CountDownLatch gate;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            CountDownLatch current = gate;
+            if (current != null) {
+                try {
+                    current.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            events.add(builder.build().stream().map(data -> data.getData().toString()).collect(Collectors.joining()));
+        }
+
+        String next() throws InterruptedException {
+            return events.poll(5, TimeUnit.SECONDS);
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        // 자동 전송 주기는 길게 두고 dispatch를 직접 호출한다
+        broadcaster = new ProductStockBroadcaster(productRepository, new ObjectMapper(), meterRegistry,
+                3_600_000, 2, 100, 1, Duration.ofSeconds(10), Duration.ofHours(1), Duration.ofMinutes(30));
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    @DisplayName("구독한 상품의 변경만 보내고, 여러 번 바뀌면 마지막 값 하나만 보낸다")
+    void coalesceTest() throws InterruptedException {
+        // given
+        CapturingEmitter emitter = new CapturingEmitter();
+        broadcaster.register(emitter, Set.of(1L), null);
+        assertTrue(emitter.next().contains("connected"));
+        StockState first = state(7L, 5, ProductStatus.FOR_SALE);
+        StockState second = state(7L, 4, ProductStatus.FOR_SALE);
+        when(productRepository.findStockStateById(1L)).thenReturn(Optional.of(first), Optional.of(second), Optional.of(second));
+
+        // when
+        broadcaster.onProductChanged(new ProductChangedEvent(1L));
+        broadcaster.onProductChanged(new ProductChangedEvent(1L));
+        broadcaster.onProductChanged(new ProductChangedEvent(2L));
+        broadcaster.dispatch();
+
+        // then
+        String event = emitter.next();
+        assertTrue(event.contains("\"id\":1") && event.contains("\"stock\":4"), event);
+        assertFalse(event.contains("\"id\":2"), event);
+
+        // 재고, 상태가 그대로인 변경(이름, 가격 수정)은 보내지 않는다
+        broadcaster.onProductChanged(new ProductChangedEvent(1L));
+        broadcaster.dispatch();
+        assertNull(emitter.events.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    @DisplayName("판매자 구독 - 판매자 상품의 변경과 삭제를 받는다")
+    void sellerSubscriptionTest() throws InterruptedException {
+        // given
+        CapturingEmitter emitter = new CapturingEmitter();
+        broadcaster.register(emitter, Set.of(), 7L);
+        emitter.next();
+        StockState soldOut = state(7L, 0, ProductStatus.SOLD_OUT);
+        when(productRepository.findStockStateById(1L)).thenReturn(Optional.of(soldOut), Optional.empty());
+
+        // when & then
+        broadcaster.onProductChanged(new ProductChangedEvent(1L));
+        broadcaster.dispatch();
+        assertTrue(emitter.next().contains("\"status\":\"SOLD_OUT\""));
+
+        broadcaster.onProductChanged(new ProductChangedEvent(1L));
+        broadcaster.dispatch();
+        assertTrue(emitter.next().contains("\"deleted\":true"));
+    }
+
+    @Test
+    @DisplayName("느린 구독자 - 버퍼가 넘치면 연결을 끊고 다른 구독자에게는 계속 보낸다")
+    void evictSlowConsumerTest() throws InterruptedException {
+        // given
+        CapturingEmitter slow = new CapturingEmitter();
+        CapturingEmitter fast = new CapturingEmitter();
+        broadcaster.register(slow, Set.of(1L, 2L, 3L, 4L), null);
+        broadcaster.register(fast, Set.of(4L), null);
+        CountDownLatch gate = new CountDownLatch(1);
+        slow.gate = gate;
+        for (long id = 1; id <= 4; id++) {
+            StockState state = state(7L, (int) id, ProductStatus.FOR_SALE);
+            when(productRepository.findStockStateById(id)).thenReturn(Optional.of(state));
+        }
+
+        // when: 첫 변경을 쓰는 동안 막혀 있는 사이 버퍼(2개)를 넘는 변경이 들어온다
+        broadcaster.onProductChanged(new ProductChangedEvent(1L));
+        broadcaster.dispatch();
+        Thread.sleep(100);
+        for (long id = 2; id <= 4; id++) {
+            broadcaster.onProductChanged(new ProductChangedEvent(id));
+        }
+        broadcaster.dispatch();
+        gate.countDown();
+
+        // then
+        assertEquals(1.0, meterRegistry.counter(ProductStockBroadcaster.EVICTIONS, "reason", "overflow").count());
+        assertEquals(1, broadcaster.subscriberCount());
+        fast.next();
+        assertTrue(fast.next().contains("\"id\":4"));
+    }
+
+    @Test
+    @DisplayName("구독자 수가 상한에 닿으면 새 구독은 예외로 거절한다")
+    void subscriberLimitTest() {
+        // given
+        broadcaster.shutdown();
+        broadcaster = new ProductStockBroadcaster(productRepository, new ObjectMapper(), meterRegistry,
+                3_600_000, 2, 1, 1, Duration.ofSeconds(10), Duration.ofHours(1), Duration.ofMinutes(30));
+        CapturingEmitter first = new CapturingEmitter();
+        broadcaster.register(first, Set.of(1L), null);
+
+        // when & then
+        assertThrows(SubscriberLimitException.class, () -> broadcaster.subscribeProducts(Set.of(2L)));
+        assertThrows(SubscriberLimitException.class, () -> broadcaster.subscribeSeller(7L));
+        assertEquals(1, broadcaster.subscriberCount());
+    }
+
+    private StockState state(Long sellerId, int stock, ProductStatus status) {
+        StockState state = mock(StockState.class);
+        when(state.getSellerId()).thenReturn(sellerId);
+        when(state.getStock()).thenReturn(stock);
+        when(state.getStatus()).thenReturn(status);
+        return state;
+    }
+}
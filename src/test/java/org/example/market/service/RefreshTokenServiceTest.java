@@ -0,0 +1,104 @@
+package org.example.market.service;
+
+import org.example.market.domain.Member;
+import org.example.market.domain.RefreshToken;
+import org.example.market.exception.UnauthorizedException;
+import org.example.market.jwt.MemberPrincipal;
+import org.example.market.repository.MemberRepository;
+import org.example.market.repository.RefreshTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class RefreshTokenServiceTest {
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Mock
+    private MemberRepository memberRepository;
+
+    @InjectMocks
+    private RefreshTokenService refreshTokenService;
+
+    private final Member member = new Member(1L, "buyer", "password", Member.Role.BUYER);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    @DisplayName("로그인 - 원문이 아닌 해시만 저장한다")
+    void issueStoresHashTest() {
+        // when
+        String rawToken = refreshTokenService.issue(MemberPrincipal.from(member));
+
+        // then
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertNotEquals(rawToken, saved.getValue().getTokenHash());
+        assertEquals(RefreshTokenService.hash(rawToken), saved.getValue().getTokenHash());
+        assertEquals(1L, saved.getValue().getMemberId());
+    }
+
+    @Test
+    @DisplayName("재발급 - 기존 토큰을 폐기하고 같은 family의 새 토큰을 발급한다")
+    void rotateTest() {
+        // given
+        RefreshToken token = spy(new RefreshToken(RefreshTokenService.hash("raw"), "family", 1L, Instant.now().plus(Duration.ofDays(1))));
+        when(token.getId()).thenReturn(10L);
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw"))).thenReturn(Optional.of(token));
+        when(refreshTokenRepository.revokeIfActive(10L)).thenReturn(1);
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(member));
+
+        // when
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate("raw");
+
+        // then
+        assertEquals("buyer", rotation.principal().getUsername());
+        assertNotEquals("raw", rotation.refreshToken());
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        verify(refreshTokenRepository).save(saved.capture());
+        assertEquals("family", saved.getValue().getFamily());
+        verify(refreshTokenRepository, never()).revokeFamily(anyString());
+    }
+
+    @Test
+    @DisplayName("재발급 실패 - 이미 교체된 토큰을 다시 쓰면 family 전체를 폐기한다")
+    void rotateReusedTokenTest() {
+        // given
+        RefreshToken token = spy(new RefreshToken(RefreshTokenService.hash("raw"), "family", 1L, Instant.now().plus(Duration.ofDays(1))));
+        when(token.getId()).thenReturn(10L);
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw"))).thenReturn(Optional.of(token));
+        when(refreshTokenRepository.revokeIfActive(10L)).thenReturn(0);
+
+        // when & then
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate("raw"));
+        verify(refreshTokenRepository).revokeFamily("family");
+        verify(refreshTokenRepository, never()).save(any(RefreshToken.class));
+    }
+
+    @Test
+    @DisplayName("재발급 실패 - 만료된 토큰")
+    void rotateExpiredTokenTest() {
+        // given
+        RefreshToken token = new RefreshToken(RefreshTokenService.hash("raw"), "family", 1L, Instant.now().minusSeconds(1));
+        when(refreshTokenRepository.findByTokenHash(RefreshTokenService.hash("raw"))).thenReturn(Optional.of(token));
+
+        // when & then
+        assertThrows(UnauthorizedException.class, () -> refreshTokenService.rotate("raw"));
+        verify(refreshTokenRepository, never()).revokeIfActive(any());
+        verifyNoInteractions(memberRepository);
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.market.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.market.event.ReservationsCanceledEvent;
+import org.example.market.repository.OrderRepository;
+import org.example.market.repository.OrderRepository.ExpiredReservation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReservationSweeperTest {
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReservationSweeper reservationSweeper;
+    private final LocalDateTime cutoff = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        reservationSweeper = new ReservationSweeper(orderRepository, transactionTemplate, eventPublisher, meterRegistry,
+                Duration.ofHours(24), 2, 10);
+    }
+
+    @Test
+    @DisplayName("만료 예약 취소 - 배치 단위로 취소하고 상품별로 묶어 이벤트를 발행한다")
+    void expireTest() {
+        // given: 배치 크기 2. 두 번째 배치가 덜 차면 멈춘다
+        List<ExpiredReservation> first = List.of(reservation(1L, 10L, 2L), reservation(2L, 10L, 3L));
+        List<ExpiredReservation> second = List.of(reservation(3L, 20L, 1L));
+        when(orderRepository.findExpiredReservations(eq(cutoff), any(Pageable.class))).thenReturn(first, second);
+        when(orderRepository.cancelReservations(eq(List.of(1L, 2L)), any())).thenReturn(2);
+        when(orderRepository.cancelReservations(eq(List.of(3L)), any())).thenReturn(1);
+
+        // when
+        int expired = reservationSweeper.expire(cutoff);
+
+        // then
+        assertEquals(3, expired);
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(eventPublisher).publishEvent(new ReservationsCanceledEvent(10L, 2L, 5L));
+        verify(eventPublisher).publishEvent(new ReservationsCanceledEvent(20L, 1L, 1L));
+        assertEquals(3.0, meterRegistry.counter(ReservationSweeper.CANCELED).count());
+        assertEquals(1, meterRegistry.timer(ReservationSweeper.SWEEP).count());
+    }
+
+    @Test
+    @DisplayName("만료 예약 취소 - 조회한 건수와 취소한 건수가 다르면 배치를 롤백한다")
+    void expireMismatchTest() {
+        // given
+        List<ExpiredReservation> rows = List.of(reservation(1L, 10L, 2L));
+        when(orderRepository.findExpiredReservations(eq(cutoff), any(Pageable.class))).thenReturn(rows);
+        when(orderRepository.cancelReservations(any(), any())).thenReturn(0);
+
+        // when & then
+        assertThrows(IllegalStateException.class, () -> reservationSweeper.expire(cutoff));
+        verify(eventPublisher, never()).publishEvent(any(Object.class));
+        assertEquals(1, meterRegistry.timer(ReservationSweeper.SWEEP).count());
+    }
+
+    private ExpiredReservation reservation(Long id, Long productId, Long quantity) {
+        ExpiredReservation reservation = mock(ExpiredReservation.class);
+        when(reservation.getId()).thenReturn(id);
+        when(reservation.getProductId()).thenReturn(productId);
+        when(reservation.getQuantity()).thenReturn(quantity);
+        return reservation;
+    }
+}
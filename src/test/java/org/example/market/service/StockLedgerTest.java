@@ -0,0 +1,195 @@
+package org.example.market.service;
+
+import org.example.market.domain.Product.ProductStatus;
+import org.example.market.event.ProductChangedEvent;
+import org.example.market.repository.OrderRepository;
+import org.example.market.repository.OrderRepository.UnsyncedStock;
+import org.example.market.repository.ProductRepository;
+import org.example.market.repository.ProductRepository.LedgerStock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StockLedgerTest {
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private StockLedger stockLedger;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        stockLedger = new StockLedger(productRepository, orderRepository, transactionTemplate, eventPublisher);
+    }
+
+    @Test
+    @DisplayName("원장 초기화 - DB 재고에서 미반영 판매 수량과 예약 수량을 뺀다")
+    void loadSlotTest() {
+        // given
+        when(productRepository.findLedgerStockById(1L)).thenReturn(Optional.of(ledgerStock(10, 2L, 3L)));
+
+        // when & then: 세 값을 한 번의 조회로 읽는다
+        assertEquals(5L, stockLedger.available(1L));
+        assertEquals(3L, stockLedger.held(1L));
+        verify(productRepository, times(1)).findLedgerStockById(1L);
+        verifyNoInteractions(orderRepository);
+    }
+
+    @Test
+    @DisplayName("예약, 승인, 취소에 따라 판매 가능 수량과 보류 수량이 바뀐다")
+    void reserveConfirmReleaseTest() {
+        // given
+        when(productRepository.findLedgerStockById(1L)).thenReturn(Optional.of(ledgerStock(10, 0L, 0L)));
+
+        // when
+        assertTrue(stockLedger.tryReserve(1L, 4L));
+        assertTrue(stockLedger.tryReserve(1L, 3L));
+        stockLedger.confirm(1L, 4L);
+        stockLedger.release(1L, 3L);
+
+        // then
+        assertEquals(6L, stockLedger.available(1L));
+        assertEquals(0L, stockLedger.held(1L));
+        assertFalse(stockLedger.tryReserve(1L, 7L));
+    }
+
+    @Test
+    @DisplayName("동시 예약 - 재고를 초과해 예약을 받지 않는다")
+    void concurrentReserveTest() throws InterruptedException {
+        // given
+        int stock = 100;
+        int requests = 1000;
+        when(productRepository.findLedgerStockById(1L)).thenReturn(Optional.of(ledgerStock(stock, 0L, 0L)));
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch done = new CountDownLatch(requests);
+        AtomicInteger reserved = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < requests; i++) {
+            executor.submit(() -> {
+                if (stockLedger.tryReserve(1L, 1L)) {
+                    reserved.incrementAndGet();
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        // then
+        assertEquals(stock, reserved.get());
+        assertEquals(0L, stockLedger.available(1L));
+        assertEquals(stock, stockLedger.held(1L));
+        verify(productRepository, times(1)).findLedgerStockById(1L);
+    }
+
+    @Test
+    @DisplayName("판매 수량 반영 - 상품별로 합쳐 재고를 차감하고 주문을 반영 완료로 표시한다")
+    void flushTest() {
+        // given
+        List<UnsyncedStock> rows = List.of(unsynced(1L, 10L, 2L), unsynced(2L, 10L, 3L), unsynced(3L, 20L, 1L));
+        when(orderRepository.findUnsyncedStock(any(Pageable.class))).thenReturn(rows);
+        when(productRepository.decreaseStock(anyLong(), anyInt(), any())).thenReturn(1);
+
+        // when
+        int flushed = stockLedger.flush();
+
+        // then
+        assertEquals(3, flushed);
+        verify(productRepository).decreaseStock(10L, 5, ProductStatus.SOLD_OUT);
+        verify(productRepository).decreaseStock(20L, 1, ProductStatus.SOLD_OUT);
+        verify(productRepository, never()).clearStock(anyLong(), anyInt(), any());
+        verify(orderRepository).markStockSynced(List.of(1L, 2L, 3L));
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(10L));
+        verify(eventPublisher).publishEvent(new ProductChangedEvent(20L));
+    }
+
+    @Test
+    @DisplayName("판매 수량 반영 - 재고가 판매 수량보다 적으면 음수로 만들지 않고 0으로 맞춘다")
+    void flushShortStockTest() {
+        // given
+        when(orderRepository.findUnsyncedStock(any(Pageable.class))).thenReturn(List.of(unsynced(1L, 10L, 5L)));
+        when(productRepository.decreaseStock(10L, 5, ProductStatus.SOLD_OUT)).thenReturn(0);
+        when(productRepository.clearStock(10L, 5, ProductStatus.SOLD_OUT)).thenReturn(1);
+
+        // when
+        stockLedger.flush();
+
+        // then
+        verify(productRepository).clearStock(10L, 5, ProductStatus.SOLD_OUT);
+        verify(orderRepository).markStockSynced(List.of(1L));
+    }
+
+    @Test
+    @DisplayName("기동 시 복구 - 미반영 판매 수량을 반영하고 이미 잡은 예약 보류 수량은 유지한다")
+    void reconcileTest() {
+        // given: 재고 10, 미반영 판매 2, 예약 3인 상품에 예약 1건이 더 들어와 있다
+        when(productRepository.findLedgerStockById(10L)).thenReturn(Optional.of(ledgerStock(10, 2L, 3L)));
+        assertTrue(stockLedger.tryReserve(10L, 1L));
+        List<UnsyncedStock> rows = List.of(unsynced(1L, 10L, 2L));
+        when(orderRepository.findUnsyncedStock(any(Pageable.class))).thenReturn(rows);
+        when(productRepository.decreaseStock(10L, 2, ProductStatus.SOLD_OUT)).thenReturn(1);
+
+        // when
+        stockLedger.start();
+
+        // then
+        assertTrue(stockLedger.isRunning());
+        verify(productRepository).decreaseStock(10L, 2, ProductStatus.SOLD_OUT);
+        verify(orderRepository).markStockSynced(List.of(1L));
+        assertEquals(4L, stockLedger.available(10L));
+        assertEquals(4L, stockLedger.held(10L));
+        verify(productRepository, times(1)).findLedgerStockById(10L);
+    }
+
+    @Test
+    @DisplayName("기동 시 복구 - 웹 서버보다 먼저 시작한다")
+    void reconcilePhaseTest() {
+        assertTrue(stockLedger.getPhase() < SmartLifecycle.DEFAULT_PHASE - 2048);
+    }
+
+    private LedgerStock ledgerStock(int stock, long unsynced, long held) {
+        LedgerStock row = mock(LedgerStock.class);
+        when(row.getStock()).thenReturn(stock);
+        when(row.getUnsynced()).thenReturn(unsynced);
+        when(row.getHeld()).thenReturn(held);
+        return row;
+    }
+
+    private UnsyncedStock unsynced(Long id, Long productId, Long quantity) {
+        UnsyncedStock row = mock(UnsyncedStock.class);
+        when(row.getId()).thenReturn(id);
+        when(row.getProductId()).thenReturn(productId);
+        when(row.getQuantity()).thenReturn(quantity);
+        return row;
+    }
+}